@@ -0,0 +1,32 @@
+package com.bookbuddy.config;
+
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.SQLExceptionConversionDelegate;
+import org.hibernate.internal.util.JdbcExceptionHelper;
+
+/**
+ * SQLite dialect that reports constraint violations as such.
+ *
+ * The community dialect maps SQLITE_CONSTRAINT to a generic JDBC error, so
+ * Spring surfaces unique index violations as {@code JpaSystemException}.
+ * Mapping it to {@link ConstraintViolationException} lets callers catch
+ * {@code DataIntegrityViolationException} like on any other database.
+ */
+public class BookBuddySQLiteDialect extends SQLiteDialect {
+
+    // Primary result code; extended codes (e.g. SQLITE_CONSTRAINT_UNIQUE) keep it in the low byte
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    @Override
+    public SQLExceptionConversionDelegate buildSQLExceptionConversionDelegate() {
+        SQLExceptionConversionDelegate delegate = super.buildSQLExceptionConversionDelegate();
+        return (sqlException, message, sql) -> {
+            if ((JdbcExceptionHelper.extractErrorCode(sqlException) & 0xFF) == SQLITE_CONSTRAINT) {
+                String constraintName = getViolatedConstraintNameExtractor().extractConstraintName(sqlException);
+                return new ConstraintViolationException(message, sqlException, sql, constraintName);
+            }
+            return delegate != null ? delegate.convert(sqlException, message, sql) : null;
+        };
+    }
+}
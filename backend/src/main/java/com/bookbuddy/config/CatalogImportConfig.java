@@ -0,0 +1,35 @@
+package com.bookbuddy.config;
+
+import com.bookbuddy.service.OpenLibraryWorksImporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Offline catalog import, enabled only when a dump file is given:
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.arguments="--bookbuddy.import.works-dump=ol_dump_works.txt.gz --spring.main.web-application-type=none"
+ *
+ * The in-memory catalog indexes are not built during an import run; the
+ * next normal start builds them from the imported rows.
+ */
+@Configuration
+@ConditionalOnProperty("bookbuddy.import.works-dump")
+public class CatalogImportConfig {
+
+    @Bean
+    public ApplicationRunner worksImportRunner(
+            OpenLibraryWorksImporter importer,
+            @Value("${bookbuddy.import.works-dump}") Path dump,
+            @Value("${bookbuddy.import.checkpoint:}") String checkpoint,
+            @Value("${bookbuddy.import.chunk-size:5000}") int chunkSize) {
+        Path checkpointFile = checkpoint.isBlank()
+                ? dump.resolveSibling(dump.getFileName() + ".checkpoint")
+                : Path.of(checkpoint);
+        return args -> importer.importWorks(dump, checkpointFile, chunkSize);
+    }
+}
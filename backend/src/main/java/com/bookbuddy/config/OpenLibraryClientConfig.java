@@ -0,0 +1,113 @@
+package com.bookbuddy.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound HTTP client used to call the Open Library API.
+ * Connections are pooled and kept alive between searches, and every
+ * request has connect, read and pool-acquire timeouts so a slow
+ * upstream cannot hold a request thread indefinitely.
+ *
+ * Search endpoints run on {@code openLibraryExecutor}. With virtual threads
+ * enabled, the servlet thread is released while the upstream call is
+ * pending, so concurrent searches are limited by the connection pool
+ * rather than by the Tomcat thread pool.
+ *
+ * Refreshes of cached results that were served stale run on
+ * {@code openLibraryRefreshExecutor}, a small bounded pool of its own, so
+ * they never run on a request thread, whichever mode searches use.
+ */
+@Configuration
+public class OpenLibraryClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager openLibraryConnectionManager(
+            @Value("${openlibrary.http.max-connections:50}") int maxConnections,
+            @Value("${openlibrary.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${openlibrary.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${openlibrary.http.read-timeout:5s}") Duration readTimeout) {
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient openLibraryHttpClient(
+            @Qualifier("openLibraryConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            @Value("${openlibrary.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${openlibrary.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${openlibrary.http.idle-timeout:30s}") Duration idleTimeout) {
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+
+        // Content compression (gzip/deflate) is enabled by default in the classic client
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate openLibraryRestTemplate(
+            @Qualifier("openLibraryHttpClient") CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    @Bean
+    public Executor openLibraryExecutor(
+            @Value("${openlibrary.execution.virtual-threads:true}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        // Run on the calling servlet thread (blocking mode)
+        return Runnable::run;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService openLibraryRefreshExecutor(
+            @Value("${openlibrary.refresh.threads:2}") int threads,
+            @Value("${openlibrary.refresh.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("openlibrary-refresh-", 0).daemon(true).factory(),
+                // A dropped refresh is queued again on the key's next stale hit
+                new ThreadPoolExecutor.DiscardPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookbuddy.config;
+
+import com.bookbuddy.service.ReviewService;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Offline repair of the book rating aggregates, enabled only on request:
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.arguments="--bookbuddy.reviews.rebuild-aggregates=true --spring.main.web-application-type=none"
+ *
+ * Recomputes every aggregate row from the review table, e.g. after reviews
+ * were changed by hand in the database.
+ */
+@Configuration
+@ConditionalOnProperty("bookbuddy.reviews.rebuild-aggregates")
+public class RatingAggregateRebuildConfig {
+
+    @Bean
+    public ApplicationRunner ratingAggregateRebuildRunner(ReviewService reviewService) {
+        return args -> {
+            int books = reviewService.rebuildRatingAggregates();
+            LoggerFactory.getLogger(RatingAggregateRebuildConfig.class)
+                    .info("Rebuilt rating aggregates for {} books", books);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookbuddy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Separate connection pools for writes and read-only transactions, enabled
+ * when {@code bookbuddy.datasource.read.url} is set (as in the sqlite-prod
+ * profile).
+ *
+ * The write pool uses {@code spring.datasource.*} as before. Transactions
+ * marked {@code @Transactional(readOnly = true)} run on the read pool instead:
+ * read-only SQLite connections ({@code open_mode=1}) on the same file, or a
+ * replica on Postgres. Everything else, including reads outside a transaction,
+ * stays on the write pool. The connection is only fetched when the first
+ * statement runs, once the transaction's read-only flag is known.
+ *
+ * Hibernate normally keeps a session's connection until the session closes,
+ * which with open-in-view is the end of the request: a write after a read in
+ * the same request would then run on the read-only connection. Connections
+ * are therefore released after each transaction.
+ */
+@Configuration
+@ConditionalOnProperty("bookbuddy.datasource.read.url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("bookbuddy-write");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("bookbuddy.datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${bookbuddy.datasource.read.url}") String url) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url).build();
+        dataSource.setPoolName("bookbuddy-read");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource writeDataSource, HikariDataSource readDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            }
+        };
+        routing.setTargetDataSources(Map.of(true, readDataSource, false, writeDataSource));
+        routing.setDefaultTargetDataSource(writeDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -1,16 +1,28 @@
 package com.bookbuddy.controller;
 
 import com.bookbuddy.dto.BookCatalogRequest;
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.SearchResponseDTO;
 import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.model.Genre;
 import com.bookbuddy.service.BookCatalogService;
+import com.bookbuddy.service.CatalogSort;
+import com.bookbuddy.service.CatalogSuggestIndex;
+import com.bookbuddy.service.OpenLibraryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Handles all API operations for the global book catalog.
@@ -21,10 +33,23 @@ import java.util.Optional;
 public class BookCatalogController {
 
     private final BookCatalogService bookCatalogService;
+    private final OpenLibraryService openLibraryService;
+    private final Executor openLibraryExecutor;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
-    public BookCatalogController(BookCatalogService bookCatalogService) {
+    public BookCatalogController(
+            BookCatalogService bookCatalogService,
+            OpenLibraryService openLibraryService,
+            @Qualifier("openLibraryExecutor") Executor openLibraryExecutor,
+            @Value("${bookbuddy.catalog.default-page-size:20}") int defaultPageSize,
+            @Value("${bookbuddy.catalog.max-page-size:100}") int maxPageSize) {
         this.bookCatalogService = bookCatalogService;
+        this.openLibraryService = openLibraryService;
+        this.openLibraryExecutor = openLibraryExecutor;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -38,6 +63,100 @@ public class BookCatalogController {
         return ResponseEntity.ok(books);
     }
 
+    /**
+     * Get the catalog one page at a time, using keyset pagination.
+     *
+     * @param cursor {@code nextCursor} from the previous page (omit for the first page)
+     * @param size   books per page, capped at {@code bookbuddy.catalog.max-page-size}
+     * @param sort   "id" (default) or "title"
+     * @param genre  optional genre filter
+     * @param author optional exact author filter
+     * @return one page of catalog books, or 400 for an invalid sort or cursor
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getBooksPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Genre genre,
+            @RequestParam(required = false) String author) {
+
+        CatalogSort catalogSort;
+        try {
+            catalogSort = CatalogSort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown sort: " + sort);
+        }
+
+        int pageSize = Math.max(1, Math.min(size != null ? size : defaultPageSize, maxPageSize));
+        try {
+            CursorPageDTO<BookCatalog> page = bookCatalogService.getBooksPage(cursor, pageSize, catalogSort, genre, author);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Search for books, answering from the local catalog when possible.
+     * Falls back to Open Library when no catalog book matches every word
+     * of the query.
+     *
+     * @param q     search text
+     * @param limit maximum number of results
+     * @return search results, with source "catalog" or "openlibrary"
+     */
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<SearchResponseDTO>> searchBooks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+
+        int maxResults = limit != null ? limit : 10;
+        List<BookSearchResultDTO> localResults = bookCatalogService.searchCatalog(q, maxResults);
+
+        if (!localResults.isEmpty()) {
+            SearchResponseDTO response = new SearchResponseDTO(localResults.size(), 1, localResults);
+            response.setSource(SearchResponseDTO.SOURCE_CATALOG);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(response));
+        }
+
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(
+                SearchResponseDTO.fromOpenLibrary(openLibraryService.searchBooks(q, maxResults, 1), 1)),
+                openLibraryExecutor);
+    }
+
+    /**
+     * Add a page of search results to the catalog in one call.
+     * Books that are already in the catalog are returned as they are.
+     *
+     * @param results search results to add (at most {@code bookbuddy.catalog.max-page-size})
+     * @return the catalog entry for each result
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> addSearchResults(@RequestBody List<BookSearchResultDTO> results) {
+        if (results.size() > maxPageSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("At most " + maxPageSize + " books can be added at once");
+        }
+        return ResponseEntity.ok(bookCatalogService.addSearchResults(results));
+    }
+
+    /**
+     * Typeahead suggestions from the local catalog, most popular first.
+     * Served entirely from memory so it can be called on every keystroke.
+     *
+     * @param prefix text typed so far
+     * @param limit  maximum number of suggestions
+     * @return matching catalog books
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BookSearchResultDTO>> suggestBooks(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        int maxResults = limit != null ? limit : CatalogSuggestIndex.MAX_SUGGESTIONS;
+        return ResponseEntity.ok(bookCatalogService.suggestBooks(prefix, maxResults));
+    }
+
     /**
      * Get one book by its ID.
      *
@@ -0,0 +1,72 @@
+package com.bookbuddy.controller;
+
+import com.bookbuddy.service.LeaderboardWindow;
+import com.bookbuddy.service.ReviewLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+
+/**
+ * Controller for the home page book leaderboards.
+ * Answers come from in-memory snapshots refreshed every
+ * {@code bookbuddy.leaderboard.refresh-interval}.
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+@CrossOrigin(origins = "http://localhost:5173")
+public class LeaderboardController {
+
+    private final ReviewLeaderboard reviewLeaderboard;
+
+    @Autowired
+    public LeaderboardController(ReviewLeaderboard reviewLeaderboard) {
+        this.reviewLeaderboard = reviewLeaderboard;
+    }
+
+    /**
+     * Get the highest rated books.
+     *
+     * @param window "month" (default) or "all-time"
+     * @param limit  maximum number of books
+     * @return ranked books, or 400 for an unknown window
+     */
+    @GetMapping("/top-rated")
+    public ResponseEntity<?> getTopRated(
+            @RequestParam(defaultValue = "month") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardWindow leaderboardWindow = parseWindow(window);
+        if (leaderboardWindow == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown window: " + window);
+        }
+        return ResponseEntity.ok(reviewLeaderboard.getTopRated(leaderboardWindow, limit));
+    }
+
+    /**
+     * Get the books with the most reviews.
+     *
+     * @param window "month" (default) or "all-time"
+     * @param limit  maximum number of books
+     * @return ranked books, or 400 for an unknown window
+     */
+    @GetMapping("/most-reviewed")
+    public ResponseEntity<?> getMostReviewed(
+            @RequestParam(defaultValue = "month") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardWindow leaderboardWindow = parseWindow(window);
+        if (leaderboardWindow == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown window: " + window);
+        }
+        return ResponseEntity.ok(reviewLeaderboard.getMostReviewed(leaderboardWindow, limit));
+    }
+
+    private static LeaderboardWindow parseWindow(String window) {
+        try {
+            return LeaderboardWindow.valueOf(window.replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
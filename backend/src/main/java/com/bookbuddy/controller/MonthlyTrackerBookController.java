@@ -9,6 +9,7 @@ import com.bookbuddy.service.MonthlyTrackerService;
 import com.bookbuddy.service.UserBookService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -72,9 +73,14 @@ public class MonthlyTrackerBookController {
         }
 
         MonthlyTrackerBook trackerBook = new MonthlyTrackerBook(tracker.get(), userBook.get());
-        MonthlyTrackerBook saved = trackerBookService.saveMonthlyTrackerBook(trackerBook);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        try {
+            MonthlyTrackerBook saved = trackerBookService.saveMonthlyTrackerBook(trackerBook);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request added the same book after the check above
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Book is already in this tracker");
+        }
     }
 
     /**
@@ -167,34 +173,16 @@ public class MonthlyTrackerBookController {
                     .body("MonthlyTracker not found with id: " + request.getMonthlyTrackerId());
         }
 
-        java.util.List<MonthlyTrackerBook> addedBooks = new java.util.ArrayList<>();
-        java.util.List<String> errors = new java.util.ArrayList<>();
-
-        for (Long userBookId : request.getUserBookIds()) {
-            // Check if book exists
-            Optional<UserBook> userBook = userBookService.getUserBookById(userBookId);
-            if (userBook.isEmpty()) {
-                errors.add("UserBook not found with id: " + userBookId);
-                continue;
-            }
-
-            // Check if already in tracker
-            if (trackerBookService.isBookInTracker(request.getMonthlyTrackerId(), userBookId)) {
-                errors.add("Book " + userBookId + " is already in tracker");
-                continue;
-            }
-
-            // Validate same user
-            if (!java.util.Objects.equals(userBook.get().getUser().getId(), tracker.get().getUser().getId())) {
-                errors.add("Book " + userBookId + " does not belong to the same user");
-                continue;
-            }
-
-            // Add book
-            MonthlyTrackerBook trackerBook = new MonthlyTrackerBook(tracker.get(), userBook.get());
-            MonthlyTrackerBook saved = trackerBookService.saveMonthlyTrackerBook(trackerBook);
-            addedBooks.add(saved);
+        MonthlyTrackerBookService.BulkAddResult result;
+        try {
+            result = trackerBookService.addBooksToTracker(tracker.get(), request.getUserBookIds());
+        } catch (DataIntegrityViolationException e) {
+            // Another request added some of these books meanwhile; nothing was saved
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Some of these books were added to the tracker by another request, please retry");
         }
+        List<MonthlyTrackerBook> addedBooks = result.added();
+        List<String> errors = result.errors();
 
         // Return results
         java.util.Map<String, Object> response = new java.util.HashMap<>();
@@ -8,6 +8,7 @@ import com.bookbuddy.service.MonthlyTrackerService;
 import com.bookbuddy.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -78,8 +79,14 @@ public class MonthlyTrackerController {
         tracker.setYear(String.valueOf(request.getYear()));
         tracker.setTargetBooksNum(request.getMonthlyGoal());
 
-        MonthlyTracker savedTracker = monthlyTrackerService.saveTracker(tracker);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedTracker);
+        try {
+            MonthlyTracker savedTracker = monthlyTrackerService.saveTracker(tracker);
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedTracker);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created the same tracker after the check above
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Tracker already exists for " + monthEnum.name() + " " + request.getYear());
+        }
     }
 
     /**
@@ -101,7 +108,7 @@ public class MonthlyTrackerController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getTrackerById(@PathVariable Long id) {
-        Optional<MonthlyTracker> tracker = monthlyTrackerService.getTrackerById(id);
+        Optional<MonthlyTracker> tracker = monthlyTrackerService.getTrackerWithBooksById(id);
 
         if (tracker.isPresent()) {
             return ResponseEntity.ok(tracker.get());
@@ -206,7 +213,7 @@ public class MonthlyTrackerController {
         String currentYear = String.valueOf(now.getYear());
 
         Months monthEnum = Months.fromValue(currentMonth);
-        Optional<MonthlyTracker> tracker = monthlyTrackerService.getTrackerByUserAndMonth(
+        Optional<MonthlyTracker> tracker = monthlyTrackerService.getTrackerWithBooksByUserAndMonth(
                 userId, monthEnum, currentYear);
 
         if (tracker.isPresent()) {
@@ -245,7 +252,7 @@ public class MonthlyTrackerController {
                     .body("Invalid month number: " + month);
         }
 
-        Optional<MonthlyTracker> tracker = monthlyTrackerService.getTrackerByUserAndMonth(
+        Optional<MonthlyTracker> tracker = monthlyTrackerService.getTrackerWithBooksByUserAndMonth(
                 userId, monthEnum, String.valueOf(year));
 
         if (tracker.isPresent()) {
@@ -1,18 +1,21 @@
 package com.bookbuddy.controller;
 
-import com.bookbuddy.dto.BookSearchResultDTO;
 import com.bookbuddy.dto.OpenLibrarySearchResponse;
 import com.bookbuddy.dto.SearchResponseDTO;
 import com.bookbuddy.service.OpenLibraryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Controller for handling book searches through the Open Library API.
+ * Searches run asynchronously on the Open Library executor so the servlet
+ * thread is not held while waiting for the upstream response.
  */
 @RestController
 @RequestMapping("/api/openlibrary")
@@ -20,10 +23,14 @@ import java.util.stream.Collectors;
 public class OpenLibraryController {
 
     private final OpenLibraryService openLibraryService;
+    private final Executor openLibraryExecutor;
 
     @Autowired
-    public OpenLibraryController(OpenLibraryService openLibraryService) {
+    public OpenLibraryController(
+            OpenLibraryService openLibraryService,
+            @Qualifier("openLibraryExecutor") Executor openLibraryExecutor) {
         this.openLibraryService = openLibraryService;
+        this.openLibraryExecutor = openLibraryExecutor;
     }
 
     /**
@@ -35,14 +42,16 @@ public class OpenLibraryController {
      * @return search results returned by Open Library
      */
     @GetMapping
-    public ResponseEntity<SearchResponseDTO> searchBooks(
+    public CompletableFuture<ResponseEntity<SearchResponseDTO>> searchBooks(
             @RequestParam String q,
             @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) Integer page) {
 
-        OpenLibrarySearchResponse rawResponse = openLibraryService.searchBooks(q, limit, page);
-        SearchResponseDTO cleanResponse = mapToCleanResponse(rawResponse, page);
-        return ResponseEntity.ok(cleanResponse);
+        return CompletableFuture.supplyAsync(() -> {
+            OpenLibrarySearchResponse rawResponse = openLibraryService.searchBooks(q, limit, page);
+            SearchResponseDTO cleanResponse = SearchResponseDTO.fromOpenLibrary(rawResponse, page);
+            return ResponseEntity.ok(cleanResponse);
+        }, openLibraryExecutor);
     }
 
     /**
@@ -53,13 +62,15 @@ public class OpenLibraryController {
      * @return search results returned by Open Library
      */
     @GetMapping("/by-title")
-    public ResponseEntity<SearchResponseDTO> searchByTitle(
+    public CompletableFuture<ResponseEntity<SearchResponseDTO>> searchByTitle(
             @RequestParam String title,
             @RequestParam(required = false) Integer limit) {
 
-        OpenLibrarySearchResponse rawResponse = openLibraryService.searchByTitle(title, limit);
-        SearchResponseDTO cleanResponse = mapToCleanResponse(rawResponse, 1);
-        return ResponseEntity.ok(cleanResponse);
+        return CompletableFuture.supplyAsync(() -> {
+            OpenLibrarySearchResponse rawResponse = openLibraryService.searchByTitle(title, limit);
+            SearchResponseDTO cleanResponse = SearchResponseDTO.fromOpenLibrary(rawResponse, 1);
+            return ResponseEntity.ok(cleanResponse);
+        }, openLibraryExecutor);
     }
 
     /**
@@ -70,61 +81,34 @@ public class OpenLibraryController {
      * @return search results returned by Open Library
      */
     @GetMapping("/by-author")
-    public ResponseEntity<SearchResponseDTO> searchByAuthor(
+    public CompletableFuture<ResponseEntity<SearchResponseDTO>> searchByAuthor(
             @RequestParam String author,
             @RequestParam(required = false) Integer limit) {
 
-        OpenLibrarySearchResponse rawResponse = openLibraryService.searchByAuthor(author, limit);
-        SearchResponseDTO cleanResponse = mapToCleanResponse(rawResponse, 1);
-        return ResponseEntity.ok(cleanResponse);
+        return CompletableFuture.supplyAsync(() -> {
+            OpenLibrarySearchResponse rawResponse = openLibraryService.searchByAuthor(author, limit);
+            SearchResponseDTO cleanResponse = SearchResponseDTO.fromOpenLibrary(rawResponse, 1);
+            return ResponseEntity.ok(cleanResponse);
+        }, openLibraryExecutor);
     }
 
     /**
-     * Maps raw Open Library response to clean DTO
-     */
-    private SearchResponseDTO mapToCleanResponse(OpenLibrarySearchResponse rawResponse, Integer page) {
-        List<BookSearchResultDTO> cleanBooks = rawResponse.getDocs().stream()
-                .map(this::mapToBookSearchResult)
-                .collect(Collectors.toList());
-
-        return new SearchResponseDTO(
-                rawResponse.getNumFound(),
-                page != null ? page : 1,
-                cleanBooks);
-    }
-
-    /**
-     * Maps single OpenLibraryBook to clean BookSearchResultDTO
+     * Get hit/miss/eviction counters for the search cache.
+     *
+     * @return cache statistics
      */
-    private BookSearchResultDTO mapToBookSearchResult(OpenLibrarySearchResponse.OpenLibraryBook book) {
-        return new BookSearchResultDTO(
-                extractOpenLibraryId(book.getKey()),
-                book.getTitle(),
-                book.getFirstAuthor(),
-                book.getCoverUrl(),
-                book.getFirstPublishYear());
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(openLibraryService.getCacheStats());
     }
 
     /**
-     * Extracts clean Open Library ID from key
-     * Example: "/works/OL27448W" -> "OL27448W"
+     * Get usage of the outbound HTTP connection pool.
+     *
+     * @return leased, available and pending connection counts
      */
-    private String extractOpenLibraryId(String key) {
-        if (key == null || key.isEmpty()) {
-            return "";
-        }
-
-        // Extract the ID after the last "/"
-        int lastSlash = key.lastIndexOf('/');
-        if (lastSlash != -1 && lastSlash < key.length() - 1) {
-            String id = key.substring(lastSlash + 1);
-            // Verify it starts with "O"
-            if (id.startsWith("O")) {
-                return id;
-            }
-        }
-
-        // Fallback: return original key if parsing fails
-        return key;
+    @GetMapping("/http/stats")
+    public ResponseEntity<Map<String, Object>> getConnectionPoolStats() {
+        return ResponseEntity.ok(openLibraryService.getConnectionPoolStats());
     }
 }
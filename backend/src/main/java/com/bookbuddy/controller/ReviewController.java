@@ -1,16 +1,22 @@
 package com.bookbuddy.controller;
 
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.RatingSummaryDTO;
 import com.bookbuddy.dto.ReviewRequest;
+import com.bookbuddy.dto.ReviewResponse;
 import com.bookbuddy.model.Review;
 import com.bookbuddy.service.ReviewService;
+import com.bookbuddy.service.ReviewSort;
 import com.bookbuddy.service.BookCatalogService;
 import com.bookbuddy.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -24,15 +30,24 @@ public class ReviewController {
     private final ReviewService reviewService;
     private final UserService userService;
     private final BookCatalogService bookCatalogService;
+    private final int maxBatchSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
     public ReviewController(
             ReviewService reviewService,
             UserService userService,
-            BookCatalogService bookCatalogService) {
+            BookCatalogService bookCatalogService,
+            @Value("${bookbuddy.reviews.max-batch-size:100}") int maxBatchSize,
+            @Value("${bookbuddy.reviews.default-page-size:20}") int defaultPageSize,
+            @Value("${bookbuddy.reviews.max-page-size:100}") int maxPageSize) {
         this.reviewService = reviewService;
         this.userService = userService;
         this.bookCatalogService = bookCatalogService;
+        this.maxBatchSize = maxBatchSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -81,6 +96,74 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    /**
+     * Get one page of reviews for a book, using keyset pagination.
+     *
+     * @param bookId ID of the book
+     * @param cursor {@code nextCursor} from the previous page (omit for the first page)
+     * @param size   reviews per page, capped at {@code bookbuddy.reviews.max-page-size}
+     * @param sort   "newest" (default) or "rating"
+     * @return one page of reviews, or 400 for an invalid sort or cursor
+     */
+    @GetMapping("/book/{bookId}/page")
+    public ResponseEntity<?> getReviewsPageForBook(
+            @PathVariable Long bookId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "newest") String sort) {
+
+        ReviewSort reviewSort;
+        try {
+            reviewSort = ReviewSort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown sort: " + sort);
+        }
+
+        try {
+            CursorPageDTO<ReviewResponse> page =
+                    reviewService.getBookReviewsPage(bookId, cursor, pageSize(size), reviewSort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get one page of reviews written by a user, using keyset pagination.
+     *
+     * @param userId ID of the user
+     * @param cursor {@code nextCursor} from the previous page (omit for the first page)
+     * @param size   reviews per page, capped at {@code bookbuddy.reviews.max-page-size}
+     * @param sort   "newest" (default) or "rating"
+     * @return one page of reviews, or 400 for an invalid sort or cursor
+     */
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<?> getReviewsPageForUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "newest") String sort) {
+
+        ReviewSort reviewSort;
+        try {
+            reviewSort = ReviewSort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown sort: " + sort);
+        }
+
+        try {
+            CursorPageDTO<ReviewResponse> page =
+                    reviewService.getUserReviewsPage(userId, cursor, pageSize(size), reviewSort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    private int pageSize(Integer size) {
+        return Math.max(1, Math.min(size != null ? size : defaultPageSize, maxPageSize));
+    }
+
     /**
      * Get a single review by its ID.
      *
@@ -129,4 +212,34 @@ public class ReviewController {
         double rating = reviewService.getAverageRating(bookId);
         return ResponseEntity.ok(rating);
     }
+
+    /**
+     * Get review count, average rating and star histogram for a book.
+     *
+     * @param bookId book ID
+     * @return rating summary
+     */
+    @GetMapping("/book/{bookId}/summary")
+    public ResponseEntity<RatingSummaryDTO> getRatingSummary(@PathVariable Long bookId) {
+        return ResponseEntity.ok(reviewService.getRatingSummary(bookId));
+    }
+
+    /**
+     * Get review count and average rating for many books in one request,
+     * e.g. GET /api/reviews/books/average?ids=1,2,3
+     *
+     * @param ids book IDs
+     * @return one rating summary per distinct ID, in request order
+     */
+    @GetMapping("/books/average")
+    public ResponseEntity<?> getAverageRatings(@RequestParam List<Long> ids) {
+        if (ids.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one book id is required");
+        }
+        if (ids.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body("At most " + maxBatchSize + " book ids can be requested at once");
+        }
+        return ResponseEntity.ok(reviewService.getRatingSummaries(ids));
+    }
 }
@@ -1,16 +1,21 @@
 package com.bookbuddy.controller;
 
 import com.bookbuddy.dto.AddBookFromSearchRequest;
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.LibraryBookDTO;
 import com.bookbuddy.dto.UserBookRequest;
 import com.bookbuddy.model.*;
 import com.bookbuddy.service.*;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -24,15 +29,21 @@ public class UserBookController {
     private final UserBookService userBookService;
     private final UserService userService;
     private final BookCatalogService bookCatalogService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
     public UserBookController(
             UserBookService userBookService,
             UserService userService,
-            BookCatalogService bookCatalogService) {
+            BookCatalogService bookCatalogService,
+            @Value("${bookbuddy.library.default-page-size:20}") int defaultPageSize,
+            @Value("${bookbuddy.library.max-page-size:100}") int maxPageSize) {
         this.userBookService = userBookService;
         this.userService = userService;
         this.bookCatalogService = bookCatalogService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -54,6 +65,67 @@ public class UserBookController {
         return ResponseEntity.ok(userBooks);
     }
 
+    /**
+     * Get one page of a user's library, using keyset pagination.
+     *
+     * @param userId ID of the user
+     * @param cursor {@code nextCursor} from the previous page (omit for the first page)
+     * @param size   books per page, capped at {@code bookbuddy.library.max-page-size}
+     * @param sort   "recent" (default), "oldest" or "title"
+     * @param shelf  optional shelf filter
+     * @param genre  optional genre filter
+     * @return one page of library books, or 400 for an invalid sort or cursor
+     */
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<?> getUserBooksPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) ShelfStatus shelf,
+            @RequestParam(required = false) Genre genre) {
+
+        Optional<User> user = userService.getUserById(userId);
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("User not found with id: " + userId);
+        }
+
+        LibrarySort librarySort;
+        try {
+            librarySort = LibrarySort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown sort: " + sort);
+        }
+
+        int pageSize = Math.max(1, Math.min(size != null ? size : defaultPageSize, maxPageSize));
+        try {
+            CursorPageDTO<LibraryBookDTO> page =
+                    userBookService.getLibraryPage(userId, cursor, pageSize, librarySort, shelf, genre);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get how many books a user has on each shelf.
+     *
+     * @param userId ID of the user
+     * @return total and per-shelf counts
+     */
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<?> getLibrarySummary(@PathVariable Long userId) {
+
+        Optional<User> user = userService.getUserById(userId);
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("User not found with id: " + userId);
+        }
+
+        return ResponseEntity.ok(userBookService.getLibrarySummary(userId));
+    }
+
     /**
      * Add a book to a user's library.
      *
@@ -182,26 +254,26 @@ public class UserBookController {
                     .body("User not found with id: " + request.getUserId());
         }
 
-        Optional<BookCatalog> existingBook = bookCatalogService.findByOpenLibraryId(request.getOpenLibraryId());
-
-        BookCatalog catalogBook;
-
-        if (existingBook.isPresent()) {
-            catalogBook = existingBook.get();
-        } else {
-            catalogBook = new BookCatalog(request.getTitle(), request.getAuthor());
-            catalogBook.setOpenLibraryId(request.getOpenLibraryId());
-            catalogBook.setGenre(request.getGenre() != null
-                    ? request.getGenre()
-                    : Genre.OTHER);
+        String openLibraryId = BookSearchResultDTO.extractOpenLibraryId(request.getOpenLibraryId());
+        if (openLibraryId.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Open Library ID (key) is required");
+        }
 
-            if (request.getCoverUrl() != null) {
-                catalogBook.setCoverUrl(request.getCoverUrl());
-            }
+        BookCatalog candidate = new BookCatalog(request.getTitle(),
+                request.getAuthor() != null ? request.getAuthor() : "Unknown Author");
+        candidate.setOpenLibraryId(openLibraryId);
+        candidate.setGenre(request.getGenre() != null
+                ? request.getGenre()
+                : Genre.OTHER);
 
-            catalogBook = bookCatalogService.saveBook(catalogBook);
+        if (request.getCoverUrl() != null) {
+            candidate.setCoverUrl(request.getCoverUrl());
         }
 
+        // Creates the catalog entry only if no other request has already done so
+        BookCatalog catalogBook = bookCatalogService.upsertBooks(List.of(candidate)).get(0);
+
         ShelfStatus shelf = request.getShelf() != null
                 ? request.getShelf()
                 : ShelfStatus.WANT_TO_READ;
@@ -11,6 +11,7 @@ public class BookSearchResultDTO {
     private String author;
     private String coverUrl;
     private Integer publishYear;
+    private Long catalogId;
 
     public BookSearchResultDTO() {
     }
@@ -24,6 +25,41 @@ public class BookSearchResultDTO {
         this.publishYear = publishYear;
     }
 
+    /**
+     * Create BookSearchResultDTO from a raw Open Library search result
+     */
+    public static BookSearchResultDTO fromOpenLibrary(OpenLibrarySearchResponse.OpenLibraryBook book) {
+        return new BookSearchResultDTO(
+                extractOpenLibraryId(book.getKey()),
+                book.getTitle(),
+                book.getFirstAuthor(),
+                book.getCoverUrl(),
+                book.getFirstPublishYear());
+    }
+
+    /**
+     * Extracts clean Open Library ID from key
+     * Example: "/works/OL27448W" -> "OL27448W"
+     */
+    public static String extractOpenLibraryId(String key) {
+        if (key == null || key.isEmpty()) {
+            return "";
+        }
+
+        // Extract the ID after the last "/"
+        int lastSlash = key.lastIndexOf('/');
+        if (lastSlash != -1 && lastSlash < key.length() - 1) {
+            String id = key.substring(lastSlash + 1);
+            // Verify it starts with "O"
+            if (id.startsWith("O")) {
+                return id;
+            }
+        }
+
+        // Fallback: return original key if parsing fails
+        return key;
+    }
+
     public String getOpenLibraryId() {
         return openLibraryId;
     }
@@ -63,4 +99,16 @@ public class BookSearchResultDTO {
     public void setPublishYear(Integer publishYear) {
         this.publishYear = publishYear;
     }
-}
\ No newline at end of file
+
+    /**
+     * ID of the matching BookCatalog entry, or null when the result
+     * comes from Open Library and is not in the catalog.
+     */
+    public Long getCatalogId() {
+        return catalogId;
+    }
+
+    public void setCatalogId(Long catalogId) {
+        this.catalogId = catalogId;
+    }
+}
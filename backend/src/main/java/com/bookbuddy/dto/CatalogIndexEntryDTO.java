@@ -0,0 +1,61 @@
+package com.bookbuddy.dto;
+
+import com.bookbuddy.model.BookCatalog;
+
+/**
+ * The catalog columns the in-memory search and suggest indexes are built
+ * from, read in keyset pages instead of loading full
+ * {@link BookCatalog} entities.
+ */
+public class CatalogIndexEntryDTO {
+
+    private final Long id;
+    private final String openLibraryId;
+    private final String title;
+    private final String author;
+    private final String coverUrl;
+    private final String description;
+
+    // Full constructor (also used by the JPQL projection)
+    public CatalogIndexEntryDTO(Long id, String openLibraryId, String title, String author,
+            String coverUrl, String description) {
+        this.id = id;
+        this.openLibraryId = openLibraryId;
+        this.title = title;
+        this.author = author;
+        this.coverUrl = coverUrl;
+        this.description = description;
+    }
+
+    /**
+     * Takes the indexed fields of a saved catalog book.
+     */
+    public static CatalogIndexEntryDTO fromBook(BookCatalog book) {
+        return new CatalogIndexEntryDTO(book.getId(), book.getOpenLibraryId(), book.getTitle(), book.getAuthor(),
+                book.getCoverUrl(), book.getDescription());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOpenLibraryId() {
+        return openLibraryId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
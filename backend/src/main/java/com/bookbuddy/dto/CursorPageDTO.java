@@ -0,0 +1,47 @@
+package com.bookbuddy.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to get the
+ * following page; it is null on the last page.
+ *
+ * @param <T> type of the items
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    // Default constructor
+    public CursorPageDTO() {
+    }
+
+    // Full constructor
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
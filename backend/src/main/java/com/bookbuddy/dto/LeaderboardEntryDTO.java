@@ -0,0 +1,89 @@
+package com.bookbuddy.dto;
+
+/**
+ * DTO for one book on a review leaderboard.
+ * {@code score} is the Bayesian average used for the top-rated ranking.
+ */
+public class LeaderboardEntryDTO {
+
+    private Long bookId;
+    private String title;
+    private String author;
+    private String coverUrl;
+    private long reviewCount;
+    private double averageRating;
+    private double score;
+
+    // Default constructor
+    public LeaderboardEntryDTO() {
+    }
+
+    // Full constructor
+    public LeaderboardEntryDTO(Long bookId, String title, String author, String coverUrl,
+            long reviewCount, double averageRating, double score) {
+        this.bookId = bookId;
+        this.title = title;
+        this.author = author;
+        this.coverUrl = coverUrl;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public void setCoverUrl(String coverUrl) {
+        this.coverUrl = coverUrl;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
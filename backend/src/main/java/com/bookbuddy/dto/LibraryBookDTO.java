@@ -0,0 +1,115 @@
+package com.bookbuddy.dto;
+
+import com.bookbuddy.model.Genre;
+import com.bookbuddy.model.ShelfStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Flat view of one book in a user's library, used by the paginated
+ * library listing instead of the full {@link com.bookbuddy.model.UserBook}
+ * and {@link com.bookbuddy.model.BookCatalog} entities.
+ */
+public class LibraryBookDTO {
+
+    private Long id;
+    private ShelfStatus shelf;
+    private LocalDate createdAt;
+    private LocalDate completedAt;
+    private Long bookId;
+    private String title;
+    private String author;
+    private String coverUrl;
+    private Genre genre;
+
+    // Default constructor
+    public LibraryBookDTO() {
+    }
+
+    // Full constructor (also used by the JPQL projection)
+    public LibraryBookDTO(Long id, ShelfStatus shelf, LocalDate createdAt, LocalDate completedAt,
+            Long bookId, String title, String author, String coverUrl, Genre genre) {
+        this.id = id;
+        this.shelf = shelf;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.bookId = bookId;
+        this.title = title;
+        this.author = author;
+        this.coverUrl = coverUrl;
+        this.genre = genre;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ShelfStatus getShelf() {
+        return shelf;
+    }
+
+    public void setShelf(ShelfStatus shelf) {
+        this.shelf = shelf;
+    }
+
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDate createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDate getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDate completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public void setCoverUrl(String coverUrl) {
+        this.coverUrl = coverUrl;
+    }
+
+    public Genre getGenre() {
+        return genre;
+    }
+
+    public void setGenre(Genre genre) {
+        this.genre = genre;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookbuddy.dto;
+
+import com.bookbuddy.model.ShelfStatus;
+
+import java.util.Map;
+
+/**
+ * DTO for the size of a user's library: the total number of books and
+ * the count on every {@link ShelfStatus} (zero for empty shelves).
+ */
+public class LibrarySummaryDTO {
+
+    private Long userId;
+    private long totalBooks;
+    private Map<ShelfStatus, Long> shelfCounts;
+
+    // Default constructor
+    public LibrarySummaryDTO() {
+    }
+
+    // Full constructor
+    public LibrarySummaryDTO(Long userId, long totalBooks, Map<ShelfStatus, Long> shelfCounts) {
+        this.userId = userId;
+        this.totalBooks = totalBooks;
+        this.shelfCounts = shelfCounts;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getTotalBooks() {
+        return totalBooks;
+    }
+
+    public void setTotalBooks(long totalBooks) {
+        this.totalBooks = totalBooks;
+    }
+
+    public Map<ShelfStatus, Long> getShelfCounts() {
+        return shelfCounts;
+    }
+
+    public void setShelfCounts(Map<ShelfStatus, Long> shelfCounts) {
+        this.shelfCounts = shelfCounts;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bookbuddy.dto;
+
+import java.util.Map;
+
+/**
+ * DTO for the rating summary of a catalog book: review count, average
+ * rating and how many reviews gave each star value (keys 1 to 5).
+ */
+public class RatingSummaryDTO {
+
+    private Long bookId;
+    private long reviewCount;
+    private double averageRating;
+    private Map<Integer, Long> starCounts;
+
+    // Default constructor
+    public RatingSummaryDTO() {
+    }
+
+    // Full constructor
+    public RatingSummaryDTO(Long bookId, long reviewCount, double averageRating, Map<Integer, Long> starCounts) {
+        this.bookId = bookId;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+        this.starCounts = starCounts;
+    }
+
+    // Getters and Setters
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Map<Integer, Long> getStarCounts() {
+        return starCounts;
+    }
+
+    public void setStarCounts(Map<Integer, Long> starCounts) {
+        this.starCounts = starCounts;
+    }
+}
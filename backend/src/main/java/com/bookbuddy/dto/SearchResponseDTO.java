@@ -1,15 +1,23 @@
 package com.bookbuddy.dto;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Clean search response wrapper for frontend
  */
 public class SearchResponseDTO {
 
+    /** Results came from the Open Library API */
+    public static final String SOURCE_OPEN_LIBRARY = "openlibrary";
+
+    /** Results came from the local book catalog */
+    public static final String SOURCE_CATALOG = "catalog";
+
     private int totalResults;
     private int currentPage;
     private List<BookSearchResultDTO> books;
+    private String source = SOURCE_OPEN_LIBRARY;
 
     public SearchResponseDTO() {
     }
@@ -20,6 +28,20 @@ public class SearchResponseDTO {
         this.books = books;
     }
 
+    /**
+     * Maps raw Open Library response to clean DTO
+     */
+    public static SearchResponseDTO fromOpenLibrary(OpenLibrarySearchResponse rawResponse, Integer page) {
+        List<BookSearchResultDTO> cleanBooks = rawResponse.getDocs().stream()
+                .map(BookSearchResultDTO::fromOpenLibrary)
+                .collect(Collectors.toList());
+
+        return new SearchResponseDTO(
+                rawResponse.getNumFound(),
+                page != null ? page : 1,
+                cleanBooks);
+    }
+
     public int getTotalResults() {
         return totalResults;
     }
@@ -43,4 +65,12 @@ public class SearchResponseDTO {
     public void setBooks(List<BookSearchResultDTO> books) {
         this.books = books;
     }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
 }
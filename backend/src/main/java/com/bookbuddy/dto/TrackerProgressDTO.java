@@ -1,5 +1,7 @@
 package com.bookbuddy.dto;
 
+import com.bookbuddy.model.Months;
+
 /**
  * DTO for monthly tracker progress information.
  * Provides a summary of reading progress for a specific tracker.
@@ -31,6 +33,21 @@ public class TrackerProgressDTO {
         this.year = year;
     }
 
+    /**
+     * Used by the progress projection query. Counts come straight from
+     * COUNT/SUM, so they may be Long or null (tracker without books).
+     * The completion percentage is filled in by the service.
+     */
+    public TrackerProgressDTO(Long trackerId, int targetBooks, Long totalBooks, Long completedBooks,
+            Months month, String year) {
+        this.trackerId = trackerId;
+        this.targetBooks = targetBooks;
+        this.totalBooks = totalBooks != null ? totalBooks.intValue() : 0;
+        this.completedBooks = completedBooks != null ? completedBooks.intValue() : 0;
+        this.month = month.name();
+        this.year = year;
+    }
+
     // Getters and Setters
     public Long getTrackerId() {
         return trackerId;
@@ -1,5 +1,6 @@
 package com.bookbuddy.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 import java.util.List;
@@ -14,7 +15,14 @@ import java.util.List;
  * The global Bank list everyone can access and add from
  */
 @Entity
-@Table(name = "book_catalog")
+@Table(name = "book_catalog", indexes = {
+		// Keyset pagination by title and the genre/author filters
+		@Index(name = "idx_book_catalog_title_id", columnList = "title, id"),
+		@Index(name = "idx_book_catalog_genre_id", columnList = "genre, id"),
+		@Index(name = "idx_book_catalog_author_id", columnList = "author, id")
+})
+// Hides Hibernate proxy internals when a lazy reference to this entity is serialized
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class BookCatalog {
 
 	@Id
@@ -0,0 +1,97 @@
+package com.bookbuddy.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Running rating totals for one catalog book.
+ * Maintained by {@link com.bookbuddy.service.ReviewService} in the same
+ * transaction as every review write, so averages and star histograms are
+ * a single-row read. Rows are only written through the atomic upsert in
+ * {@link com.bookbuddy.repository.BookRatingAggregateRepository}.
+ */
+@Entity
+@Table(name = "book_rating_aggregate")
+public class BookRatingAggregate {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(nullable = false)
+    private long reviewCount;
+
+    // Sum of all ratings, including 0 ratings (counted but not in the histogram)
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long oneStar;
+
+    @Column(nullable = false)
+    private long twoStar;
+
+    @Column(nullable = false)
+    private long threeStar;
+
+    @Column(nullable = false)
+    private long fourStar;
+
+    @Column(nullable = false)
+    private long fiveStar;
+
+    /** Default constructor (required by JPA). */
+    public BookRatingAggregate() {}
+
+    /**
+     * Creates an aggregate with the given totals.
+     * @param bookId      the ID of the {@link BookCatalog} entry
+     * @param reviewCount number of reviews
+     * @param ratingSum   sum of all ratings
+     * @param stars       review counts for 1 to 5 stars
+     */
+    public BookRatingAggregate(Long bookId, long reviewCount, long ratingSum, long... stars) {
+        this.bookId = bookId;
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.oneStar = stars.length > 0 ? stars[0] : 0;
+        this.twoStar = stars.length > 1 ? stars[1] : 0;
+        this.threeStar = stars.length > 2 ? stars[2] : 0;
+        this.fourStar = stars.length > 3 ? stars[3] : 0;
+        this.fiveStar = stars.length > 4 ? stars[4] : 0;
+    }
+
+    /** @return the ID of the book these totals belong to */
+    public Long getBookId() {
+        return bookId;
+    }
+
+    /** @return the number of reviews */
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    /** @return the sum of all ratings */
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    /** @return the average rating (0.0 if there are no reviews) */
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    /**
+     * @param stars a rating between 1 and 5
+     * @return the number of reviews with that rating
+     */
+    public long getStarCount(int stars) {
+        return switch (stars) {
+            case 1 -> oneStar;
+            case 2 -> twoStar;
+            case 3 -> threeStar;
+            case 4 -> fourStar;
+            case 5 -> fiveStar;
+            default -> 0;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookbuddy.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
@@ -14,15 +15,33 @@ import java.util.List;
  * that keep track of their progress and reading targets.
  */
 @Entity
+// One tracker per user and month: enforced by the unique index
+// uk_monthly_trackers_user_month_year (schema-sqlite.sql, V1 migration), which also
+// serves lookups by (user, month, year)
 @Table(name = "monthly_trackers")
+// Hides Hibernate proxy internals when a lazy reference to this entity is serialized
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Everything a rendered tracker needs: owner, goal books, their user books and catalog books
+@NamedEntityGraph(name = MonthlyTracker.WITH_BOOKS,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "goalBooks", subgraph = "goalBooks")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "goalBooks", attributeNodes = @NamedAttributeNode(value = "userBook", subgraph = "userBook")),
+                @NamedSubgraph(name = "userBook", attributeNodes = @NamedAttributeNode("book"))
+        })
 public class MonthlyTracker {
 
+    /** Name of the entity graph that loads a tracker with all of its books. */
+    public static final String WITH_BOOKS = "MonthlyTracker.withBooks";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     // Each tracker belongs to one user
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -9,7 +9,12 @@ import jakarta.persistence.*;
  * Each MonthlyTrackerBook links a {@link UserBook} entry to a specific {@link MonthlyTracker}.
  */
 @Entity
-@Table(name = "monthly_tracker_books")
+// A user book can be in a tracker only once: enforced by the unique index
+// uk_monthly_tracker_books_tracker_user_book (schema-sqlite.sql, V1 migration)
+@Table(name = "monthly_tracker_books", indexes = {
+        // Covers the per-tracker COUNT/SUM progress query
+        @Index(name = "idx_monthly_tracker_books_tracker_completed", columnList = "monthly_tracker_id, is_completed")
+})
 public class MonthlyTrackerBook {
 
     @Id
@@ -18,12 +23,12 @@ public class MonthlyTrackerBook {
 
     /** The monthly tracker this goal belongs to. */
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "monthly_tracker_id", nullable = false)
     private MonthlyTracker monthlyTracker;
 
     /** The user's book entry being tracked for this month. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_book_id", nullable = false)
     private UserBook userBook;
 
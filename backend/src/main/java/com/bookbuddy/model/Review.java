@@ -1,6 +1,9 @@
 package com.bookbuddy.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
 
 /**
  * Review entity represents a review written by a user for a specific book
@@ -8,7 +11,15 @@ import jakarta.persistence.*;
  * with additional fields for rating and optional text comments.
  */
 @Entity
-@Table(name = "review")
+@Table(name = "review", indexes = {
+        // Keyset pages per book and per user, newest first or by rating
+        @Index(name = "idx_review_book_id", columnList = "book_id, id"),
+        @Index(name = "idx_review_book_rating_id", columnList = "book_id, rating, id"),
+        @Index(name = "idx_review_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_review_user_rating_id", columnList = "user_id, rating, id"),
+        // Loading the current month's ratings for the leaderboards
+        @Index(name = "idx_review_created_at", columnList = "created_at")
+})
 public class Review {
 
     @Id
@@ -16,12 +27,12 @@ public class Review {
     private long id;
 
     // The book which has been reviewed
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private BookCatalog book;
 
     // The user who wrote the review
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -31,6 +42,25 @@ public class Review {
     @Column(nullable = false)
     private int rating;         // 1–5 stars
 
+    // Date the review was written (null for reviews created before this column existed)
+    @Column(name = "created_at", updatable = false)
+    private LocalDate createdAt = LocalDate.now();
+
+    // Incremented on every update; an edit of a review that changed since it
+    // was loaded fails instead of correcting the aggregates from a stale rating
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    // Book and rating as last loaded from or written to the database, so the
+    // rating aggregates can be corrected when a review is edited
+    @Transient
+    private Long persistedBookId;
+
+    @Transient
+    private Integer persistedRating;
+
     /** Default constructor (required by JPA). */
     public Review() {}
 
@@ -100,6 +130,48 @@ public class Review {
         }
     }
 
+    /** @return the date the review was written, or null for old reviews */
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+
+    /** @param createdAt the date the review was written */
+    public void setCreatedAt(LocalDate createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /** @return the version of the stored row this instance was loaded from */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    /** @param version the version of the stored row this instance now matches */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /** @return the book ID stored in the database, or null if not persisted */
+    @JsonIgnore
+    public Long getPersistedBookId() {
+        return persistedBookId;
+    }
+
+    /** @return the rating stored in the database, or null if not persisted */
+    @JsonIgnore
+    public Integer getPersistedRating() {
+        return persistedRating;
+    }
+
+    /** Records the current book and rating as the stored state. */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void markPersisted() {
+        this.persistedBookId = book != null ? book.getId() : null;
+        this.persistedRating = rating;
+    }
+
     /** @return a formatted string representation of the review */
     @Override
     public String toString() {
@@ -1,6 +1,7 @@
 package com.bookbuddy.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.util.List;
 import java.util.ArrayList;
@@ -19,6 +20,8 @@ import jakarta.validation.constraints.Pattern;
 
 @Entity
 @Table(name = "users")
+// Hides Hibernate proxy internals when a lazy reference to this entity is serialized
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
 	@Id
@@ -1,6 +1,7 @@
 package com.bookbuddy.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
@@ -12,7 +13,16 @@ import java.time.LocalDate;
  */
 
 @Entity
-@Table(name = "user_book")
+@Table(name = "user_book", indexes = {
+		// Per-shelf counts and shelf-filtered library pages
+		@Index(name = "idx_user_book_user_shelf", columnList = "user_id, shelf"),
+		// Library pages ordered by date added
+		@Index(name = "idx_user_book_user_created", columnList = "user_id, created_at, id"),
+		// Library pages ordered by title
+		@Index(name = "idx_user_book_user_title", columnList = "user_id, book_title, id")
+})
+// Hides Hibernate proxy internals when a lazy reference to this entity is serialized
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class UserBook {
 
 	@Id
@@ -22,17 +32,26 @@ public class UserBook {
 	 * The user who owns this book entry in their personal library.
 	 */
 	@JsonIgnore
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	private User user;
 
 	/**
 	 * The global book catalog entry this user has added to their library.
 	 */
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "book_id", nullable = false)
 	private BookCatalog book;
 
+	/**
+	 * Copy of the catalog book's title, so library pages ordered by title
+	 * can be read from an index on this table. Set on every save, and
+	 * updated by the catalog service when the book is renamed.
+	 */
+	@JsonIgnore
+	@Column(name = "book_title")
+	private String bookTitle;
+
 	/**
 	 * The current shelf status for this book in the user's library.
 	 * Possible values: WANT_TO_READ, CURRENTLY_READING, READ.
@@ -87,6 +106,16 @@ public class UserBook {
 		this.book = book;
 	}
 
+	public String getBookTitle() {
+		return bookTitle;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void copyBookTitle() {
+		this.bookTitle = book != null ? book.getTitle() : null;
+	}
+
 	public ShelfStatus getShelf() {
 		return shelf;
 	}
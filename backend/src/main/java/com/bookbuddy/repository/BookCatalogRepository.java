@@ -3,9 +3,15 @@
  */
 package com.bookbuddy.repository;
 
+import com.bookbuddy.dto.CatalogIndexEntryDTO;
 import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.model.Genre;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +20,7 @@ import java.util.Optional;
  * Manages all available books and their metadata.
  */
 @Repository
-public interface BookCatalogRepository extends JpaRepository<BookCatalog, Long> {
+public interface BookCatalogRepository extends JpaRepository<BookCatalog, Long>, BookCatalogRepositoryCustom {
 
     // Find book by title
     Optional<BookCatalog> findByTitle(String title);
@@ -27,4 +33,35 @@ public interface BookCatalogRepository extends JpaRepository<BookCatalog, Long>
 
     // Find book by Open Library ID (prevents duplicates)
     Optional<BookCatalog> findByOpenLibraryId(String openLibraryId);
+
+    // Find all books with the given Open Library IDs in one query
+    List<BookCatalog> findByOpenLibraryIdIn(Collection<String> openLibraryIds);
+
+    // Keyset page ordered by ID; null filters are ignored
+    @Query("SELECT b FROM BookCatalog b WHERE b.id > :afterId "
+            + "AND (:genre IS NULL OR b.genre = :genre) "
+            + "AND (:author IS NULL OR b.author = :author) "
+            + "ORDER BY b.id")
+    List<BookCatalog> findPageOrderById(@Param("afterId") long afterId,
+                                        @Param("genre") Genre genre,
+                                        @Param("author") String author,
+                                        Limit limit);
+
+    // Keyset page ordered by title, then ID; null filters are ignored
+    @Query("SELECT b FROM BookCatalog b "
+            + "WHERE (b.title > :afterTitle OR (b.title = :afterTitle AND b.id > :afterId)) "
+            + "AND (:genre IS NULL OR b.genre = :genre) "
+            + "AND (:author IS NULL OR b.author = :author) "
+            + "ORDER BY b.title, b.id")
+    List<BookCatalog> findPageOrderByTitle(@Param("afterTitle") String afterTitle,
+                                           @Param("afterId") long afterId,
+                                           @Param("genre") Genre genre,
+                                           @Param("author") String author,
+                                           Limit limit);
+
+    // Keyset page of the columns the in-memory indexes need, ordered by ID
+    @Query("SELECT new com.bookbuddy.dto.CatalogIndexEntryDTO(b.id, b.openLibraryId, b.title, b.author, "
+            + "b.coverUrl, b.description) "
+            + "FROM BookCatalog b WHERE b.id > :afterId ORDER BY b.id")
+    List<CatalogIndexEntryDTO> findIndexEntryPage(@Param("afterId") long afterId, Limit limit);
 }
@@ -0,0 +1,21 @@
+package com.bookbuddy.repository;
+
+import com.bookbuddy.model.BookCatalog;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Custom BookCatalog queries that need plain SQL.
+ */
+public interface BookCatalogRepositoryCustom {
+
+    /**
+     * Inserts books in as few statements as possible, skipping any whose
+     * {@code openLibraryId} already exists. Safe to call concurrently with
+     * the same books: the unique constraint decides which insert wins.
+     * @param books books with a non-blank openLibraryId
+     * @return openLibraryIds of the rows that were actually inserted
+     */
+    Set<String> insertIgnoringExisting(Collection<BookCatalog> books);
+}
@@ -0,0 +1,55 @@
+package com.bookbuddy.repository;
+
+import com.bookbuddy.model.BookCatalog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+/**
+ * JDBC implementation of {@link BookCatalogRepositoryCustom}, picked up by
+ * Spring Data through the {@code Impl} suffix.
+ */
+public class BookCatalogRepositoryImpl implements BookCatalogRepositoryCustom {
+
+    // SQLite allows 32766 bound parameters per statement; 6 per row
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookCatalogRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<String> insertIgnoringExisting(Collection<BookCatalog> books) {
+        Set<String> inserted = new HashSet<>();
+        List<BookCatalog> all = new ArrayList<>(books);
+
+        for (int start = 0; start < all.size(); start += ROWS_PER_STATEMENT) {
+            List<BookCatalog> chunk = all.subList(start, Math.min(start + ROWS_PER_STATEMENT, all.size()));
+
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO book_catalog (title, author, description, cover_url, open_library_id, genre) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 6);
+            for (int i = 0; i < chunk.size(); i++) {
+                BookCatalog book = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+                args.add(book.getTitle());
+                args.add(book.getAuthor());
+                args.add(book.getDescription());
+                args.add(book.getCoverUrl());
+                args.add(book.getOpenLibraryId());
+                args.add(book.getGenre().name());
+            }
+            // Rows skipped by the conflict clause are not returned
+            sql.append(" ON CONFLICT(open_library_id) DO NOTHING RETURNING open_library_id");
+
+            jdbcTemplate.query(sql.toString(), rs -> {
+                inserted.add(rs.getString(1));
+            }, args.toArray());
+        }
+        return inserted;
+    }
+}
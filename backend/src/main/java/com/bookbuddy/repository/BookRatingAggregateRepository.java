@@ -0,0 +1,70 @@
+package com.bookbuddy.repository;
+
+import com.bookbuddy.model.BookRatingAggregate;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for {@link BookRatingAggregate}.
+ * Aggregates are never saved as entities; they only change through
+ * {@link #applyRating}, a single upsert statement, so concurrent review
+ * writes cannot lose each other's updates.
+ */
+@org.springframework.stereotype.Repository
+public interface BookRatingAggregateRepository extends Repository<BookRatingAggregate, Long> {
+
+    Optional<BookRatingAggregate> findById(Long bookId);
+
+    List<BookRatingAggregate> findAll();
+
+    // Books without reviews have no row and are simply missing from the result
+    List<BookRatingAggregate> findByBookIdIn(Collection<Long> bookIds);
+
+    /**
+     * Adds ({@code delta = 1}) or removes ({@code delta = -1}) one rating
+     * from a book's totals, creating the row if needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO book_rating_aggregate "
+            + "(book_id, review_count, rating_sum, one_star, two_star, three_star, four_star, five_star) "
+            + "VALUES (:bookId, :delta, :delta * :rating, "
+            + "CASE WHEN :rating = 1 THEN :delta ELSE 0 END, CASE WHEN :rating = 2 THEN :delta ELSE 0 END, "
+            + "CASE WHEN :rating = 3 THEN :delta ELSE 0 END, CASE WHEN :rating = 4 THEN :delta ELSE 0 END, "
+            + "CASE WHEN :rating = 5 THEN :delta ELSE 0 END) "
+            + "ON CONFLICT(book_id) DO UPDATE SET "
+            + "review_count = book_rating_aggregate.review_count + excluded.review_count, "
+            + "rating_sum = book_rating_aggregate.rating_sum + excluded.rating_sum, "
+            + "one_star = book_rating_aggregate.one_star + excluded.one_star, "
+            + "two_star = book_rating_aggregate.two_star + excluded.two_star, "
+            + "three_star = book_rating_aggregate.three_star + excluded.three_star, "
+            + "four_star = book_rating_aggregate.four_star + excluded.four_star, "
+            + "five_star = book_rating_aggregate.five_star + excluded.five_star",
+            nativeQuery = true)
+    void applyRating(@Param("bookId") Long bookId, @Param("rating") int rating, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM book_rating_aggregate", nativeQuery = true)
+    void deleteAllAggregates();
+
+    /**
+     * Recomputes all aggregates from the review table. Expects the table
+     * to be empty (see {@link #deleteAllAggregates()}).
+     * @return number of books with reviews
+     */
+    @Modifying
+    @Query(value = "INSERT INTO book_rating_aggregate "
+            + "(book_id, review_count, rating_sum, one_star, two_star, three_star, four_star, five_star) "
+            + "SELECT book_id, COUNT(*), SUM(rating), "
+            + "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END) "
+            + "FROM review GROUP BY book_id",
+            nativeQuery = true)
+    int insertFromReviews();
+}
@@ -1,9 +1,14 @@
 package com.bookbuddy.repository;
 
 import com.bookbuddy.model.MonthlyTrackerBook;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repository interface for managing {@link MonthlyTrackerBook} entities.
@@ -17,9 +22,41 @@ import java.util.List;
 public interface MonthlyTrackerBookRepository extends JpaRepository<MonthlyTrackerBook, Long> {
 
     /**
+     * Loads every tracker book with its user book and catalog book in one select.
+     *
+     * @return list of all {@link MonthlyTrackerBook} entities
+     */
+    @Override
+    @EntityGraph(attributePaths = {"userBook", "userBook.book"})
+    List<MonthlyTrackerBook> findAll();
+
+    /**
+     * Loads a tracker's books with their user books and catalog books in one select.
      *
      * @param trackerId the ID of the {@link com.bookbuddy.model.MonthlyTracker}
      * @return list of {@link MonthlyTrackerBook} entities belonging to that tracker
      */
+    @EntityGraph(attributePaths = {"userBook", "userBook.book"})
     List<MonthlyTrackerBook> findByMonthlyTrackerId(Long trackerId);
+
+    /**
+     * Checks tracker membership with an indexed EXISTS query.
+     *
+     * @param trackerId  the ID of the {@link com.bookbuddy.model.MonthlyTracker}
+     * @param userBookId the ID of the {@link com.bookbuddy.model.UserBook}
+     * @return true if the user book is already in the tracker
+     */
+    boolean existsByMonthlyTrackerIdAndUserBookId(Long trackerId, Long userBookId);
+
+    /**
+     * Returns which of the given user books are already in a tracker, in one query.
+     *
+     * @param trackerId   the ID of the {@link com.bookbuddy.model.MonthlyTracker}
+     * @param userBookIds the user book IDs to check
+     * @return the subset of {@code userBookIds} already in the tracker
+     */
+    @Query("SELECT b.userBook.id FROM MonthlyTrackerBook b "
+            + "WHERE b.monthlyTracker.id = :trackerId AND b.userBook.id IN :userBookIds")
+    Set<Long> findUserBookIdsInTracker(@Param("trackerId") Long trackerId,
+                                       @Param("userBookIds") Collection<Long> userBookIds);
 }
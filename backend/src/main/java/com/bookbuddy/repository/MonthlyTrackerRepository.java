@@ -1,10 +1,16 @@
 package com.bookbuddy.repository;
 
+import com.bookbuddy.dto.TrackerProgressDTO;
 import com.bookbuddy.model.MonthlyTracker;
+import com.bookbuddy.model.Months;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link MonthlyTracker} entities.
@@ -22,4 +28,68 @@ public interface MonthlyTrackerRepository extends JpaRepository<MonthlyTracker,
      * @return list of {@link MonthlyTracker} entries linked to that user
      */
     List<MonthlyTracker> findByUserId(Long userId);
+
+    /**
+     * Finds the tracker of a user for one month, using the
+     * unique (user_id, month, year) index.
+     *
+     * @param userId the ID of the {@link com.bookbuddy.model.User}
+     * @param month  the tracked month
+     * @param year   the tracked year
+     * @return the tracker if the user has one for that month
+     */
+    Optional<MonthlyTracker> findByUserIdAndMonthAndYear(Long userId, Months month, String year);
+
+    /**
+     * Loads every tracker with its user and goal books in one select,
+     * for responses that render the trackers.
+     *
+     * @return list of all {@link MonthlyTracker} entities
+     */
+    @EntityGraph(MonthlyTracker.WITH_BOOKS)
+    @Query("SELECT t FROM MonthlyTracker t")
+    List<MonthlyTracker> findAllWithBooks();
+
+    /**
+     * Loads a tracker with its user and goal books in one select.
+     *
+     * @param id the ID of the tracker
+     * @return the tracker if it exists
+     */
+    @EntityGraph(MonthlyTracker.WITH_BOOKS)
+    Optional<MonthlyTracker> findWithBooksById(Long id);
+
+    /**
+     * Loads a user's trackers with their goal books in one select.
+     *
+     * @param userId the ID of the {@link com.bookbuddy.model.User}
+     * @return list of {@link MonthlyTracker} entries linked to that user
+     */
+    @EntityGraph(MonthlyTracker.WITH_BOOKS)
+    List<MonthlyTracker> findWithBooksByUserId(Long userId);
+
+    /**
+     * Loads the tracker of a user for one month with its goal books.
+     *
+     * @param userId the ID of the {@link com.bookbuddy.model.User}
+     * @param month  the tracked month
+     * @param year   the tracked year
+     * @return the tracker if the user has one for that month
+     */
+    @EntityGraph(MonthlyTracker.WITH_BOOKS)
+    Optional<MonthlyTracker> findWithBooksByUserIdAndMonthAndYear(Long userId, Months month, String year);
+
+    /**
+     * Counts a tracker's books and completed books in one aggregate query,
+     * without loading the books themselves.
+     *
+     * @param trackerId the ID of the tracker
+     * @return progress counts (percentage not set), or empty if the tracker does not exist
+     */
+    @Query("SELECT new com.bookbuddy.dto.TrackerProgressDTO(t.id, t.targetBooksNum, COUNT(b.id), "
+            + "SUM(CASE WHEN b.isCompleted = true THEN 1 ELSE 0 END), t.month, t.year) "
+            + "FROM MonthlyTracker t LEFT JOIN t.goalBooks b "
+            + "WHERE t.id = :trackerId "
+            + "GROUP BY t.id, t.targetBooksNum, t.month, t.year")
+    Optional<TrackerProgressDTO> findProgressById(@Param("trackerId") Long trackerId);
 }
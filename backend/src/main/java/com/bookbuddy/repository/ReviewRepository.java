@@ -1,8 +1,14 @@
 package com.bookbuddy.repository;
 
+import com.bookbuddy.dto.ReviewResponse;
 import com.bookbuddy.model.Review;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -12,12 +18,63 @@ import java.util.List;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
- 
+    // Book and user are lazy; list queries fetch both in the same select
+
+    @Override
+    @EntityGraph(attributePaths = {"book", "user"})
+    List<Review> findAll();
 
     // Find all reviews written by a specific user
+    @EntityGraph(attributePaths = {"book", "user"})
     List<Review> findByUserId(Long userId);
 
     // Find reviews by rating value
+    @EntityGraph(attributePaths = {"book", "user"})
     List<Review> findByRating(int rating);
+
+    @EntityGraph(attributePaths = {"book", "user"})
     List<Review> findByBookId(Long bookId);
+
+    // Review count and rating sum per book for reviews written on or after a date
+    @Query("SELECT r.book.id, COUNT(r), SUM(r.rating) FROM Review r WHERE r.createdAt >= :since GROUP BY r.book.id")
+    List<Object[]> sumRatingsPerBookSince(@Param("since") LocalDate since);
+
+    // Keyset pages projected straight into ReviewResponse; the joins only
+    // touch the rows of the page, not the full user and book entities
+
+    @Query("SELECT new com.bookbuddy.dto.ReviewResponse(r.id, u.username, b.title, b.id, r.rating, r.reviewText) "
+            + "FROM Review r JOIN r.user u JOIN r.book b "
+            + "WHERE r.book.id = :bookId AND r.id < :beforeId "
+            + "ORDER BY r.id DESC")
+    List<ReviewResponse> findBookPageNewest(@Param("bookId") Long bookId,
+                                            @Param("beforeId") long beforeId,
+                                            Limit limit);
+
+    @Query("SELECT new com.bookbuddy.dto.ReviewResponse(r.id, u.username, b.title, b.id, r.rating, r.reviewText) "
+            + "FROM Review r JOIN r.user u JOIN r.book b "
+            + "WHERE r.book.id = :bookId "
+            + "AND (r.rating < :beforeRating OR (r.rating = :beforeRating AND r.id < :beforeId)) "
+            + "ORDER BY r.rating DESC, r.id DESC")
+    List<ReviewResponse> findBookPageByRating(@Param("bookId") Long bookId,
+                                              @Param("beforeRating") int beforeRating,
+                                              @Param("beforeId") long beforeId,
+                                              Limit limit);
+
+    @Query("SELECT new com.bookbuddy.dto.ReviewResponse(r.id, u.username, b.title, b.id, r.rating, r.reviewText) "
+            + "FROM Review r JOIN r.user u JOIN r.book b "
+            + "WHERE r.user.id = :userId AND r.id < :beforeId "
+            + "ORDER BY r.id DESC")
+    List<ReviewResponse> findUserPageNewest(@Param("userId") Long userId,
+                                            @Param("beforeId") long beforeId,
+                                            Limit limit);
+
+    @Query("SELECT new com.bookbuddy.dto.ReviewResponse(r.id, u.username, b.title, b.id, r.rating, r.reviewText) "
+            + "FROM Review r JOIN r.user u JOIN r.book b "
+            + "WHERE r.user.id = :userId "
+            + "AND (r.rating < :beforeRating OR (r.rating = :beforeRating AND r.id < :beforeId)) "
+            + "ORDER BY r.rating DESC, r.id DESC")
+    List<ReviewResponse> findUserPageByRating(@Param("userId") Long userId,
+                                              @Param("beforeRating") int beforeRating,
+                                              @Param("beforeId") long beforeId,
+                                              Limit limit);
 }
@@ -1,12 +1,21 @@
 package com.bookbuddy.repository;
 
 
+import com.bookbuddy.dto.LibraryBookDTO;
+import com.bookbuddy.model.Genre;
+import com.bookbuddy.model.ShelfStatus;
 import com.bookbuddy.model.User;
 import com.bookbuddy.model.UserBook;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -15,15 +24,102 @@ import java.util.List;
 @Repository
 public interface UserBookRepository extends JpaRepository<UserBook, Long> {
 
+    // The catalog book is lazy; list queries fetch it in the same select
+    // (the owning user is not serialized, so it stays a proxy)
+
+    @Override
+    @EntityGraph(attributePaths = "book")
+    List<UserBook> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "book")
+    List<UserBook> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "book")
     List<UserBook> findByUser(User user);
 
+    @EntityGraph(attributePaths = "book")
     List<UserBook> findByUserAndShelf(User user, String shelf);
 
+    @EntityGraph(attributePaths = "book")
     List<UserBook> findByUserOrderByCreatedAtDesc(User user);
-    
+
+    @EntityGraph(attributePaths = "book")
     List<UserBook> findByUserId(Long userId);
-    
-    List<UserBook> findByBookId(Long bookId); 
+
+    @EntityGraph(attributePaths = "book")
+    List<UserBook> findByBookId(Long bookId);
 
     long countByUserAndShelf(User user, String shelf);
+
+    /**
+     * Counts how many library entries reference each catalog book.
+     * @return rows of [bookId, count]
+     */
+    @Query("SELECT ub.book.id, COUNT(ub) FROM UserBook ub GROUP BY ub.book.id")
+    List<Object[]> countUserBooksPerBook();
+
+    /**
+     * Counts a user's library entries per shelf.
+     * @return rows of [ShelfStatus, count]; empty shelves are missing
+     */
+    @Query("SELECT ub.shelf, COUNT(ub) FROM UserBook ub WHERE ub.user.id = :userId GROUP BY ub.shelf")
+    List<Object[]> countShelvesForUser(@Param("userId") Long userId);
+
+    /**
+     * Copies a catalog book's new title to the library entries that reference it.
+     * @return number of entries updated
+     */
+    @Modifying
+    @Query("UPDATE UserBook ub SET ub.bookTitle = :title WHERE ub.book.id = :bookId")
+    int updateBookTitle(@Param("bookId") Long bookId, @Param("title") String title);
+
+    // Keyset pages of a user's library, projected into LibraryBookDTO with one
+    // join to the catalog; null shelf/genre filters are ignored. The title order
+    // uses the copied ub.bookTitle, so it can seek idx_user_book_user_title
+
+    @Query("SELECT new com.bookbuddy.dto.LibraryBookDTO(ub.id, ub.shelf, ub.createdAt, ub.completedAt, "
+            + "b.id, b.title, b.author, b.coverUrl, b.genre) "
+            + "FROM UserBook ub JOIN ub.book b "
+            + "WHERE ub.user.id = :userId "
+            + "AND (ub.createdAt < :afterDate OR (ub.createdAt = :afterDate AND ub.id < :afterId)) "
+            + "AND (:shelf IS NULL OR ub.shelf = :shelf) "
+            + "AND (:genre IS NULL OR b.genre = :genre) "
+            + "ORDER BY ub.createdAt DESC, ub.id DESC")
+    List<LibraryBookDTO> findLibraryPageRecent(@Param("userId") Long userId,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") long afterId,
+                                               @Param("shelf") ShelfStatus shelf,
+                                               @Param("genre") Genre genre,
+                                               Limit limit);
+
+    @Query("SELECT new com.bookbuddy.dto.LibraryBookDTO(ub.id, ub.shelf, ub.createdAt, ub.completedAt, "
+            + "b.id, b.title, b.author, b.coverUrl, b.genre) "
+            + "FROM UserBook ub JOIN ub.book b "
+            + "WHERE ub.user.id = :userId "
+            + "AND (ub.createdAt > :afterDate OR (ub.createdAt = :afterDate AND ub.id > :afterId)) "
+            + "AND (:shelf IS NULL OR ub.shelf = :shelf) "
+            + "AND (:genre IS NULL OR b.genre = :genre) "
+            + "ORDER BY ub.createdAt, ub.id")
+    List<LibraryBookDTO> findLibraryPageOldest(@Param("userId") Long userId,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") long afterId,
+                                               @Param("shelf") ShelfStatus shelf,
+                                               @Param("genre") Genre genre,
+                                               Limit limit);
+
+    @Query("SELECT new com.bookbuddy.dto.LibraryBookDTO(ub.id, ub.shelf, ub.createdAt, ub.completedAt, "
+            + "b.id, b.title, b.author, b.coverUrl, b.genre) "
+            + "FROM UserBook ub JOIN ub.book b "
+            + "WHERE ub.user.id = :userId "
+            + "AND (ub.bookTitle > :afterTitle OR (ub.bookTitle = :afterTitle AND ub.id > :afterId)) "
+            + "AND (:shelf IS NULL OR ub.shelf = :shelf) "
+            + "AND (:genre IS NULL OR b.genre = :genre) "
+            + "ORDER BY ub.bookTitle, ub.id")
+    List<LibraryBookDTO> findLibraryPageByTitle(@Param("userId") Long userId,
+                                                @Param("afterTitle") String afterTitle,
+                                                @Param("afterId") long afterId,
+                                                @Param("shelf") ShelfStatus shelf,
+                                                @Param("genre") Genre genre,
+                                                Limit limit);
 }
@@ -0,0 +1,40 @@
+package com.bookbuddy.service;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write (caches, indexes, leaderboards)
+ * until the surrounding transaction has committed, so a rolled-back write
+ * never shows up in them.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs an in-memory side effect of a write once the surrounding transaction
+     * commits, or immediately when no transaction is active. The write is
+     * already durable by then, so a failing action is logged, not rethrown.
+     *
+     * @param action the side effect
+     */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    LoggerFactory.getLogger(AfterCommit.class).error("After-commit action failed", e);
+                }
+            }
+        });
+    }
+}
@@ -1,14 +1,18 @@
 package com.bookbuddy.service;
 
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CursorPageDTO;
 import com.bookbuddy.dto.OpenLibrarySearchResponse;
 import com.bookbuddy.model.BookCatalog;
 import com.bookbuddy.model.Genre;
 import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.UserBookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * Service layer for managing {@link BookCatalog} entities.
@@ -24,20 +28,36 @@ import java.util.Optional;
  *   2. Retrieve all books in the catalog
  *   3. Find a book by its ID
  *   4. Delete a book from the catalog
+ *   5. Search the catalog through the in-memory {@link CatalogSearchIndex}
+ *   6. Suggest books while typing through the {@link CatalogSuggestIndex}
+ *   7. List the catalog page by page with keyset cursors
+ *   8. Add Open Library results in bulk without duplicates
  * 
  */
 @Service
 public class BookCatalogService {
 
     private final BookCatalogRepository bookCatalogRepository;
+    private final UserBookRepository userBookRepository;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final CatalogSuggestIndex catalogSuggestIndex;
 
     /**
      * Constructor injection for the BookCatalogRepository dependency.
      * @param bookCatalogRepository repository instance injected by Spring
+     * @param userBookRepository library entries, which keep a copy of the book title
+     * @param catalogSearchIndex full-text index kept in sync with the catalog
+     * @param catalogSuggestIndex typeahead index kept in sync with the catalog
      */
     @Autowired
-    public BookCatalogService(BookCatalogRepository bookCatalogRepository) {
+    public BookCatalogService(BookCatalogRepository bookCatalogRepository,
+                              UserBookRepository userBookRepository,
+                              CatalogSearchIndex catalogSearchIndex,
+                              CatalogSuggestIndex catalogSuggestIndex) {
         this.bookCatalogRepository = bookCatalogRepository;
+        this.userBookRepository = userBookRepository;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.catalogSuggestIndex = catalogSuggestIndex;
     }
 
     /**
@@ -45,8 +65,18 @@ public class BookCatalogService {
      * @param book the {@link BookCatalog} entity to be saved or updated
      * @return the saved {@link BookCatalog} entity
      */
+    @Transactional
     public BookCatalog saveBook(BookCatalog book) {
-        return bookCatalogRepository.save(book);
+        boolean isNew = book.getId() == 0;
+        BookCatalog saved = bookCatalogRepository.save(book);
+        if (!isNew) {
+            userBookRepository.updateBookTitle(saved.getId(), saved.getTitle());
+        }
+        AfterCommit.run(() -> {
+            catalogSearchIndex.add(saved);
+            catalogSuggestIndex.add(saved);
+        });
+        return saved;
     }
 
     /**
@@ -57,6 +87,43 @@ public class BookCatalogService {
         return bookCatalogRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of the catalog using keyset pagination, so the cost
+     * of a page does not grow with how far into the catalog it is.
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size   maximum number of books on the page
+     * @param sort   sort order; must match the sort the cursor was created with
+     * @param genre  only books of this genre (optional)
+     * @param author only books by exactly this author (optional)
+     * @return the page and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is invalid or belongs to another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookCatalog> getBooksPage(String cursor, int size, CatalogSort sort, Genre genre, String author) {
+        CatalogCursor after = cursor != null && !cursor.isBlank() ? CatalogCursor.decode(cursor) : null;
+        if (after != null && after.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was created for sort " + after.sort().name().toLowerCase());
+        }
+
+        String authorFilter = author != null && !author.isBlank() ? author : null;
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<BookCatalog> books = sort == CatalogSort.TITLE
+                ? bookCatalogRepository.findPageOrderByTitle(
+                        after != null ? after.lastTitle() : "", after != null ? after.lastId() : 0, genre, authorFilter, limit)
+                : bookCatalogRepository.findPageOrderById(
+                        after != null ? after.lastId() : 0, genre, authorFilter, limit);
+
+        if (books.size() <= size) {
+            return new CursorPageDTO<>(books, null);
+        }
+
+        List<BookCatalog> page = books.subList(0, size);
+        BookCatalog last = page.get(size - 1);
+        String nextCursor = new CatalogCursor(sort, last.getId(), last.getTitle()).encode();
+        return new CursorPageDTO<>(new ArrayList<>(page), nextCursor);
+    }
+
     /**
      * Retrieves a specific {@link BookCatalog} entry by its ID.
      * @param id the unique ID of the catalog book
@@ -72,38 +139,129 @@ public class BookCatalogService {
      */
     public void deleteBook(Long id) {
         bookCatalogRepository.deleteById(id);
+        AfterCommit.run(() -> {
+            catalogSearchIndex.remove(id);
+            catalogSuggestIndex.remove(id);
+        });
+    }
+
+    /**
+     * Searches the local catalog by title, author and description.
+     * @param query free text query
+     * @param limit maximum number of results
+     * @return books matching every query term, ranked by relevance (empty if none do)
+     */
+    public List<BookSearchResultDTO> searchCatalog(String query, int limit) {
+        return catalogSearchIndex.search(query, limit);
+    }
+
+    /**
+     * Suggests catalog books whose title or author starts with the typed prefix.
+     * @param prefix typed text
+     * @param limit maximum number of suggestions
+     * @return suggestions, most popular first
+     */
+    public List<BookSearchResultDTO> suggestBooks(String prefix, int limit) {
+        return catalogSuggestIndex.suggest(prefix, limit);
     }
 
     /**
      * Find or create a BookCatalog entry from Open Library search result.
-     * Checks for existing book by openLibraryId to prevent duplicates.
+     * Goes through {@link #upsertBooks(List)}, so concurrent calls for the
+     * same work never create duplicates.
      *
      * @param openLibraryBook the book data from Open Library API
      * @return existing or newly created BookCatalog entity
      */
     public BookCatalog findOrCreateFromOpenLibrary(OpenLibrarySearchResponse.OpenLibraryBook openLibraryBook) {
-        String openLibraryId = openLibraryBook.getKey();
-
-        // Check if book already exists in catalog
-        Optional<BookCatalog> existing = bookCatalogRepository.findByOpenLibraryId(openLibraryId);
-        if (existing.isPresent()) {
-            return existing.get();
-        }
-
-        // Create new catalog entry
-        BookCatalog newBook = new BookCatalog(
+        BookCatalog candidate = new BookCatalog(
                 openLibraryBook.getTitle(),
                 openLibraryBook.getFirstAuthor()
         );
 
-        newBook.setOpenLibraryId(openLibraryId);
-        newBook.setGenre(Genre.OTHER); // Default genre
+        candidate.setOpenLibraryId(BookSearchResultDTO.extractOpenLibraryId(openLibraryBook.getKey()));
+        candidate.setGenre(Genre.OTHER); // Default genre
 
         if (openLibraryBook.getCoverUrl() != null) {
-            newBook.setCoverUrl(openLibraryBook.getCoverUrl());
+            candidate.setCoverUrl(openLibraryBook.getCoverUrl());
+        }
+
+        return upsertBooks(List.of(candidate)).get(0);
+    }
+
+    /**
+     * Adds a page of search results to the catalog, creating only the books
+     * that are not there yet.
+     *
+     * @param results search results; entries without an Open Library ID or title are ignored
+     * @return the catalog entry for every valid result, in request order
+     */
+    public List<BookCatalog> addSearchResults(List<BookSearchResultDTO> results) {
+        List<BookCatalog> candidates = new ArrayList<>();
+        for (BookSearchResultDTO result : results) {
+            if (result.getTitle() == null || result.getTitle().isBlank()) {
+                continue;
+            }
+            BookCatalog candidate = new BookCatalog(result.getTitle(),
+                    result.getAuthor() != null && !result.getAuthor().isBlank() ? result.getAuthor() : "Unknown Author");
+            candidate.setOpenLibraryId(BookSearchResultDTO.extractOpenLibraryId(result.getOpenLibraryId()));
+            if (result.getCoverUrl() != null) {
+                candidate.setCoverUrl(result.getCoverUrl());
+            }
+            candidates.add(candidate);
         }
+        return upsertBooks(candidates);
+    }
 
-        return bookCatalogRepository.save(newBook);
+    /**
+     * Inserts the books whose Open Library ID is not in the catalog yet and
+     * returns the stored row for every ID. Uses one INSERT ... ON CONFLICT
+     * DO NOTHING for the whole list plus one lookup, instead of a
+     * check-then-insert per book, so it is safe under parallel requests.
+     *
+     * @param candidates books to add; entries without an Open Library ID are ignored
+     * @return the catalog entry for each distinct Open Library ID, in input order
+     */
+    @Transactional
+    public List<BookCatalog> upsertBooks(List<BookCatalog> candidates) {
+        Map<String, BookCatalog> byOpenLibraryId = new LinkedHashMap<>();
+        for (BookCatalog candidate : candidates) {
+            String openLibraryId = candidate.getOpenLibraryId();
+            if (openLibraryId != null && !openLibraryId.isBlank()) {
+                byOpenLibraryId.putIfAbsent(openLibraryId, candidate);
+            }
+        }
+        if (byOpenLibraryId.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> inserted = bookCatalogRepository.insertIgnoringExisting(byOpenLibraryId.values());
+
+        Map<String, BookCatalog> stored = new HashMap<>();
+        for (BookCatalog book : bookCatalogRepository.findByOpenLibraryIdIn(byOpenLibraryId.keySet())) {
+            stored.put(book.getOpenLibraryId(), book);
+        }
+
+        List<BookCatalog> result = new ArrayList<>();
+        List<BookCatalog> added = new ArrayList<>();
+        for (String openLibraryId : byOpenLibraryId.keySet()) {
+            BookCatalog book = stored.get(openLibraryId);
+            if (book == null) {
+                continue;
+            }
+            if (inserted.contains(openLibraryId)) {
+                added.add(book);
+            }
+            result.add(book);
+        }
+        // Rolled back inserts must not show up in search
+        AfterCommit.run(() -> {
+            for (BookCatalog book : added) {
+                catalogSearchIndex.add(book);
+                catalogSuggestIndex.add(book);
+            }
+        });
+        return result;
     }
 
     /**
@@ -0,0 +1,45 @@
+package com.bookbuddy.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a catalog listing: the sort order plus the sort key of the
+ * last book returned. Encoded as opaque URL-safe base64 so clients cannot
+ * depend on its contents.
+ *
+ * @param sort    sort order the cursor belongs to
+ * @param lastId  ID of the last book on the previous page
+ * @param lastTitle title of the last book (only used when sorting by title)
+ */
+record CatalogCursor(CatalogSort sort, long lastId, String lastTitle) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * @return the cursor as an opaque string
+     */
+    String encode() {
+        String raw = VERSION + "|" + sort.name() + "|" + lastId + "|" + (lastTitle != null ? lastTitle : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor created by {@link #encode()}.
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static CatalogCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Limit 4 so titles containing '|' survive
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new CatalogCursor(CatalogSort.valueOf(parts[1]), Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            // Also covers bad base64, unknown sort names and bad numbers
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
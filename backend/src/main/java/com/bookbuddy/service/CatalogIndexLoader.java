@@ -0,0 +1,49 @@
+package com.bookbuddy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory {@link CatalogSearchIndex} and {@link CatalogSuggestIndex}
+ * once the application has started.
+ *
+ * Skipped when the application is started to run the works import
+ * ({@code bookbuddy.import.works-dump} set): that run serves no searches,
+ * and the indexes are built from the imported rows on the next normal start.
+ */
+@Component
+public class CatalogIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexLoader.class);
+
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final CatalogSuggestIndex catalogSuggestIndex;
+    private final String worksDump;
+
+    @Autowired
+    public CatalogIndexLoader(CatalogSearchIndex catalogSearchIndex,
+                              CatalogSuggestIndex catalogSuggestIndex,
+                              @Value("${bookbuddy.import.works-dump:}") String worksDump) {
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.catalogSuggestIndex = catalogSuggestIndex;
+        this.worksDump = worksDump;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        if (!worksDump.isBlank()) {
+            log.info("Works import run, not building the catalog indexes");
+            return;
+        }
+        long start = System.nanoTime();
+        catalogSearchIndex.rebuild();
+        catalogSuggestIndex.rebuild();
+        log.info("Catalog indexes built for {} books in {} ms", catalogSearchIndex.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,331 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CatalogIndexEntryDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.repository.BookCatalogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory full-text index over the {@link BookCatalog} table.
+ *
+ * Title, author and description are tokenized into an inverted index
+ * (term -> book -> weighted term frequency). Queries are ranked with BM25,
+ * and every query term also matches indexed terms that start with it, so
+ * partially typed words still find books. A book is only returned when it
+ * matches every query term, so a query that the catalog only partly covers
+ * finds nothing and the caller can ask Open Library instead. The index is loaded once at
+ * startup by {@link CatalogIndexLoader} and then kept up to date by
+ * {@link BookCatalogService}.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field weights applied to term frequencies
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Prefix matches score lower than exact term matches. Only the most common
+    // completions of a prefix are scored; the others still count as matches
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    // Catalog rows read per query while rebuilding
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "the", "of", "in", "on", "to");
+
+    private final BookCatalogRepository bookCatalogRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings index = new Postings();
+    // Adds and removes made while a rebuild is loading, replayed onto the rebuilt index
+    private List<Consumer<Postings>> pendingMutations;
+
+    @Autowired
+    public CatalogSearchIndex(BookCatalogRepository bookCatalogRepository) {
+        this.bookCatalogRepository = bookCatalogRepository;
+    }
+
+    /**
+     * Reloads the index from the catalog, one page of indexed columns at a time.
+     *
+     * The new index is built without holding the lock and swapped in at the
+     * end, so searches keep using the old index until the new one is complete.
+     * Adds and removes that arrive during the load are applied to both and
+     * replayed onto the new index before the swap, so none of them are lost.
+     */
+    public synchronized void rebuild() {
+        setPendingMutations(new ArrayList<>());
+        try {
+            Postings rebuilt = new Postings();
+            long afterId = 0;
+            List<CatalogIndexEntryDTO> page;
+            do {
+                page = bookCatalogRepository.findIndexEntryPage(afterId, Limit.of(REBUILD_PAGE_SIZE));
+                for (CatalogIndexEntryDTO entry : page) {
+                    rebuilt.add(entry);
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                pendingMutations.forEach(mutation -> mutation.accept(rebuilt));
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            setPendingMutations(null);
+        }
+    }
+
+    /**
+     * Adds a book to the index, replacing any previous version of it.
+     * @param book the saved catalog book
+     */
+    public void add(BookCatalog book) {
+        CatalogIndexEntryDTO entry = CatalogIndexEntryDTO.fromBook(book);
+        mutate(postings -> postings.add(entry));
+    }
+
+    /**
+     * Removes a book from the index.
+     * @param bookId the ID of the catalog book
+     */
+    public void remove(long bookId) {
+        mutate(postings -> postings.remove(bookId));
+    }
+
+    /** @return number of books currently indexed */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mutate(Consumer<Postings> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(index);
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setPendingMutations(List<Consumer<Postings>> mutations) {
+        lock.writeLock().lock();
+        try {
+            pendingMutations = mutations;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     * @param query free text query
+     * @param limit maximum number of results
+     * @return books matching every query term, highest score first (empty if none do)
+     */
+    public List<BookSearchResultDTO> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings current = index;
+            if (current.books.isEmpty()) {
+                return List.of();
+            }
+
+            Map<Long, Double> scores = new HashMap<>();
+            Map<Long, Integer> matchedTerms = new HashMap<>();
+            double avgLength = (double) current.totalLength / current.books.size();
+
+            for (String queryTerm : queryTerms) {
+                List<Map.Entry<String, Map<Long, Integer>>> matches = new ArrayList<>(
+                        current.postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet());
+                if (matches.size() > MAX_PREFIX_EXPANSIONS) {
+                    matches.sort(Comparator.comparingInt(
+                            (Map.Entry<String, Map<Long, Integer>> match) -> match.getValue().size()).reversed());
+                }
+                Set<Long> matchedBooks = new HashSet<>();
+                for (int i = 0; i < matches.size(); i++) {
+                    Map.Entry<String, Map<Long, Integer>> match = matches.get(i);
+                    boolean exact = match.getKey().equals(queryTerm);
+                    if (exact || i < MAX_PREFIX_EXPANSIONS) {
+                        scoreTerm(current, match.getValue(), exact ? 1.0 : PREFIX_MATCH_FACTOR, avgLength, scores);
+                    }
+                    matchedBooks.addAll(match.getValue().keySet());
+                }
+                for (Long bookId : matchedBooks) {
+                    matchedTerms.merge(bookId, 1, Integer::sum);
+                }
+            }
+
+            // Books missing any query term are partial matches, not hits
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>();
+            for (Map.Entry<Long, Integer> matched : matchedTerms.entrySet()) {
+                if (matched.getValue() == queryTerms.size()) {
+                    ranked.add(Map.entry(matched.getKey(), scores.getOrDefault(matched.getKey(), 0.0)));
+                }
+            }
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+
+            List<BookSearchResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                results.add(current.books.get(ranked.get(i).getKey()).toSearchResult());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the BM25 contribution of one term to every book containing it.
+     */
+    private static void scoreTerm(Postings current, Map<Long, Integer> termPostings, double factor, double avgLength,
+            Map<Long, Double> scores) {
+        int docFreq = termPostings.size();
+        double idf = Math.log(1 + (current.books.size() - docFreq + 0.5) / (docFreq + 0.5));
+
+        for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+            int tf = posting.getValue();
+            int length = current.books.get(posting.getKey()).length;
+            double norm = tf + K1 * (1 - B + B * length / avgLength);
+            double score = idf * (tf * (K1 + 1)) / norm * factor;
+            scores.merge(posting.getKey(), score, Double::sum);
+        }
+    }
+
+    private static void countTerms(String text, int weight, Map<String, Integer> termFreqs) {
+        for (String term : tokenize(text)) {
+            termFreqs.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Lower-cases text and strips accents, so "Éire" and "eire" match.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text into normalized index terms, dropping common stop words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The inverted index and per-book data, replaced as a whole by {@link #rebuild()}.
+     */
+    private static final class Postings {
+        private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, IndexedBook> books = new HashMap<>();
+        private long totalLength = 0;
+
+        // Replaces any previous version of the book
+        private void add(CatalogIndexEntryDTO book) {
+            remove(book.getId());
+
+            Map<String, Integer> termFreqs = new HashMap<>();
+            countTerms(book.getTitle(), TITLE_WEIGHT, termFreqs);
+            countTerms(book.getAuthor(), AUTHOR_WEIGHT, termFreqs);
+            countTerms(book.getDescription(), DESCRIPTION_WEIGHT, termFreqs);
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(book.getId(), entry.getValue());
+                length += entry.getValue();
+            }
+
+            books.put(book.getId(), new IndexedBook(book, termFreqs.keySet(), length));
+            totalLength += length;
+        }
+
+        private void remove(long bookId) {
+            IndexedBook existing = books.remove(bookId);
+            if (existing == null) {
+                return;
+            }
+
+            for (String term : existing.terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings != null) {
+                    termPostings.remove(bookId);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            totalLength -= existing.length;
+        }
+    }
+
+    /**
+     * The fields of an indexed book needed to build search results.
+     */
+    private static final class IndexedBook {
+        private final long id;
+        private final String openLibraryId;
+        private final String title;
+        private final String author;
+        private final String coverUrl;
+        private final Set<String> terms;
+        private final int length;
+
+        private IndexedBook(CatalogIndexEntryDTO book, Set<String> terms, int length) {
+            this.id = book.getId();
+            this.openLibraryId = book.getOpenLibraryId();
+            this.title = book.getTitle();
+            this.author = book.getAuthor();
+            this.coverUrl = book.getCoverUrl();
+            this.terms = terms;
+            this.length = length;
+        }
+
+        private BookSearchResultDTO toSearchResult() {
+            BookSearchResultDTO result = new BookSearchResultDTO(openLibraryId, title, author, coverUrl, null);
+            result.setCatalogId(id);
+            return result;
+        }
+    }
+}
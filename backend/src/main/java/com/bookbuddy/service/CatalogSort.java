@@ -0,0 +1,12 @@
+package com.bookbuddy.service;
+
+/**
+ * Sort orders supported by the paginated catalog listing.
+ * Both are total orders (ties broken by ID), which keyset pagination needs.
+ */
+public enum CatalogSort {
+    /** Oldest entries first. */
+    ID,
+    /** Alphabetical by title, then by ID. */
+    TITLE
+}
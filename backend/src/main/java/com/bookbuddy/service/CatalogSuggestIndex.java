@@ -0,0 +1,555 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CatalogIndexEntryDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.UserBookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Prefix trie over normalized catalog titles and author names, used for
+ * typeahead suggestions.
+ *
+ * Every node stores the IDs of the {@link #MAX_SUGGESTIONS} most popular
+ * books below it, where popularity is the number of {@link com.bookbuddy.model.UserBook}
+ * rows that reference the book. A lookup is a walk down the prefix followed
+ * by reading that precomputed list, so it does not depend on catalog size.
+ * Chains of single-child nodes are collapsed into one node labelled with
+ * the whole substring (a radix tree), so the tail of a long title costs one
+ * node instead of one per character. Children are kept in sorted arrays
+ * rather than maps to keep nodes small. The trie is built at startup by
+ * {@link CatalogIndexLoader}.
+ */
+@Component
+public class CatalogSuggestIndex {
+
+    /** Maximum number of suggestions stored per node (and returned per lookup). */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final long[] NO_IDS = new long[0];
+
+    // Catalog rows read per query while rebuilding
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final BookCatalogRepository bookCatalogRepository;
+    private final UserBookRepository userBookRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trie trie = new Trie();
+    // Changes made while a rebuild is loading, replayed onto the rebuilt trie
+    private List<Consumer<Trie>> pendingMutations;
+
+    @Autowired
+    public CatalogSuggestIndex(BookCatalogRepository bookCatalogRepository, UserBookRepository userBookRepository) {
+        this.bookCatalogRepository = bookCatalogRepository;
+        this.userBookRepository = userBookRepository;
+    }
+
+    /**
+     * Builds the trie from the catalog and current library counts. The
+     * catalog is read one page of indexed columns at a time and only the
+     * suggestion fields are kept.
+     *
+     * The new trie is built without holding the lock and swapped in at the
+     * end. Adds, removes and popularity changes that arrive from the moment
+     * the rebuild starts are applied to the live trie and replayed onto the
+     * new one before the swap, so none of them are lost. A library change
+     * that commits while the counts are being read may be counted twice;
+     * popularity only orders suggestions, so that is left to the next rebuild.
+     */
+    public synchronized void rebuild() {
+        setPendingMutations(new ArrayList<>());
+        try {
+            Map<Long, Long> popularity = new HashMap<>();
+            for (Object[] row : userBookRepository.countUserBooksPerBook()) {
+                popularity.put((Long) row[0], (Long) row[1]);
+            }
+
+            Trie rebuilt = new Trie();
+            long afterId = 0;
+            List<CatalogIndexEntryDTO> page;
+            do {
+                page = bookCatalogRepository.findIndexEntryPage(afterId, Limit.of(REBUILD_PAGE_SIZE));
+                for (CatalogIndexEntryDTO book : page) {
+                    rebuilt.load(new Entry(book, popularity.getOrDefault(book.getId(), 0L)));
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            rebuilt.recomputeAll(rebuilt.root);
+
+            lock.writeLock().lock();
+            try {
+                pendingMutations.forEach(mutation -> mutation.accept(rebuilt));
+                trie = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            setPendingMutations(null);
+        }
+    }
+
+    /**
+     * Adds or updates a catalog book, keeping its current popularity.
+     * @param book the saved catalog book
+     */
+    public void add(BookCatalog book) {
+        CatalogIndexEntryDTO entry = CatalogIndexEntryDTO.fromBook(book);
+        mutate(target -> target.add(entry));
+    }
+
+    /**
+     * Removes a catalog book from the trie.
+     * @param bookId the ID of the catalog book
+     */
+    public void remove(long bookId) {
+        mutate(target -> target.remove(bookId));
+    }
+
+    /**
+     * Changes how many libraries reference a book, re-ranking it along its paths.
+     * @param bookId the ID of the catalog book
+     * @param delta  +1 when a user adds the book, -1 when it is removed
+     */
+    public void adjustPopularity(long bookId, long delta) {
+        mutate(target -> target.adjustPopularity(bookId, delta));
+    }
+
+    /**
+     * Returns the most popular books whose title or author starts with the prefix.
+     * @param prefix typed text
+     * @param limit  maximum number of suggestions (capped at {@link #MAX_SUGGESTIONS})
+     * @return suggestions, most popular first
+     */
+    public List<BookSearchResultDTO> suggest(String prefix, int limit) {
+        String key = normalizeKey(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = trie.find(key);
+            if (node == null) {
+                return List.of();
+            }
+
+            List<BookSearchResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < node.top.length && i < limit; i++) {
+                results.add(trie.entries.get(node.top[i]).toSuggestion());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return number of trie nodes, including the root */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return countNodes(trie.root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mutate(Consumer<Trie> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(trie);
+            if (pendingMutations != null) {
+                pendingMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setPendingMutations(List<Consumer<Trie>> mutations) {
+        lock.writeLock().lock();
+        try {
+            pendingMutations = mutations;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        for (Node child : node.children) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses punctuation and whitespace to single spaces.
+     */
+    static String normalizeKey(String text) {
+        return CatalogSearchIndex.normalize(text).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    // Length of the common prefix of label and key.substring(from)
+    private static int commonPrefixLength(String label, String key, int from) {
+        int length = 0;
+        while (length < label.length() && from + length < key.length()
+                && label.charAt(length) == key.charAt(from + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long existing : ids) {
+            if (existing == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] append(long[] ids, long id) {
+        long[] result = Arrays.copyOf(ids, ids.length + 1);
+        result[ids.length] = id;
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        long[] result = new long[ids.length];
+        int size = 0;
+        for (long existing : ids) {
+            if (existing != id) {
+                result[size++] = existing;
+            }
+        }
+        return size == 0 ? NO_IDS : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * The nodes and entries of one trie, replaced as a whole by {@link #rebuild()}.
+     */
+    private static final class Trie {
+        private final Node root = new Node("");
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Comparator<Long> byPopularity = Comparator
+                .comparingLong((Long id) -> -entries.get(id).popularity)
+                .thenComparing(id -> entries.get(id).title)
+                .thenComparingLong(id -> id);
+
+        // Adds a book while building; the top lists are filled in afterwards by recomputeAll
+        private void load(Entry entry) {
+            entries.put(entry.id, entry);
+            for (String key : entry.keys) {
+                insertTerminal(key, entry.id);
+            }
+        }
+
+        private void add(CatalogIndexEntryDTO book) {
+            long popularity = 0;
+            Entry previous = entries.get(book.getId());
+            if (previous != null) {
+                popularity = previous.popularity;
+                remove(book.getId());
+            }
+
+            Entry entry = new Entry(book, popularity);
+            entries.put(book.getId(), entry);
+            for (String key : entry.keys) {
+                insertTerminal(key, book.getId());
+                recomputePath(key, -1);
+            }
+        }
+
+        private void remove(long bookId) {
+            Entry entry = entries.get(bookId);
+            if (entry == null) {
+                return;
+            }
+            for (String key : entry.keys) {
+                List<Node> path = path(key);
+                if (path != null) {
+                    Node node = path.get(path.size() - 1);
+                    node.terminals = without(node.terminals, bookId);
+                }
+            }
+            // Drop the entry only after its paths are fixed so the comparator can still see it
+            for (String key : entry.keys) {
+                recomputePath(key, bookId);
+            }
+            for (String key : entry.keys) {
+                prune(key);
+            }
+            entries.remove(bookId);
+        }
+
+        private void adjustPopularity(long bookId, long delta) {
+            Entry entry = entries.get(bookId);
+            if (entry == null) {
+                return;
+            }
+            entry.popularity = Math.max(0, entry.popularity + delta);
+            for (String key : entry.keys) {
+                recomputePath(key, -1);
+            }
+        }
+
+        /**
+         * Returns the node whose subtree holds every key starting with the
+         * prefix, or null if there is none. The prefix may end inside a label.
+         */
+        private Node find(String prefix) {
+            Node node = root;
+            int pos = 0;
+            while (pos < prefix.length()) {
+                node = node.child(prefix.charAt(pos));
+                if (node == null) {
+                    return null;
+                }
+                int common = commonPrefixLength(node.label, prefix, pos);
+                if (pos + common == prefix.length()) {
+                    return node;
+                }
+                if (common < node.label.length()) {
+                    return null;
+                }
+                pos += common;
+            }
+            return node;
+        }
+
+        /**
+         * Returns the nodes from the root to the node the key ends at, or
+         * null if the key does not end at a node.
+         */
+        private List<Node> path(String key) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int pos = 0;
+            while (pos < key.length()) {
+                node = node.child(key.charAt(pos));
+                if (node == null || !key.startsWith(node.label, pos)) {
+                    return null;
+                }
+                pos += node.label.length();
+                path.add(node);
+            }
+            return path;
+        }
+
+        private void insertTerminal(String key, long bookId) {
+            Node node = root;
+            int pos = 0;
+            while (pos < key.length()) {
+                Node child = node.child(key.charAt(pos));
+                if (child == null) {
+                    child = new Node(key.substring(pos));
+                    node.addChild(child);
+                    node = child;
+                    break;
+                }
+                int common = commonPrefixLength(child.label, key, pos);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                node = child;
+                pos += common;
+            }
+            if (!contains(node.terminals, bookId)) {
+                node.terminals = append(node.terminals, bookId);
+            }
+        }
+
+        /**
+         * Splits the label of a child after the given number of characters,
+         * putting a new node in between. The new node has the same books
+         * below it, so it takes over the child's top list.
+         */
+        private Node split(Node parent, Node child, int at) {
+            Node middle = new Node(child.label.substring(0, at));
+            middle.top = child.top;
+            parent.replaceChild(middle);
+            child.label = child.label.substring(at);
+            middle.addChild(child);
+            return middle;
+        }
+
+        /**
+         * Removes nodes left without books on the key's path and merges a
+         * node that is left with a single child into that child. Neither
+         * changes a top list, since such nodes only repeat their child's.
+         */
+        private void prune(String key) {
+            List<Node> path = path(key);
+            if (path == null) {
+                return;
+            }
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node node = path.get(i);
+                Node parent = path.get(i - 1);
+                if (node.terminals.length > 0 || node.children.length > 1) {
+                    return;
+                }
+                if (node.children.length == 1) {
+                    Node child = node.children[0];
+                    child.label = node.label + child.label;
+                    parent.replaceChild(child);
+                    return;
+                }
+                parent.removeChild(node.label.charAt(0));
+            }
+        }
+
+        /**
+         * Recomputes the top lists from the end of the key back up to the root.
+         * A node's top list is always drawn from its own terminals and its
+         * children's top lists, so only nodes on the changed path need work.
+         */
+        private void recomputePath(String key, long excludedId) {
+            List<Node> path = path(key);
+            if (path == null) {
+                return;
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                recompute(path.get(i), excludedId);
+            }
+        }
+
+        private void recomputeAll(Node node) {
+            for (Node child : node.children) {
+                recomputeAll(child);
+            }
+            recompute(node, -1);
+        }
+
+        private void recompute(Node node, long excludedId) {
+            Set<Long> candidates = new HashSet<>();
+            for (long id : node.terminals) {
+                candidates.add(id);
+            }
+            for (Node child : node.children) {
+                for (long id : child.top) {
+                    candidates.add(id);
+                }
+            }
+            candidates.remove(excludedId);
+
+            List<Long> ranked = new ArrayList<>(candidates);
+            ranked.sort(byPopularity);
+
+            int size = Math.min(MAX_SUGGESTIONS, ranked.size());
+            long[] top = new long[size];
+            for (int i = 0; i < size; i++) {
+                top[i] = ranked.get(i);
+            }
+            node.top = top;
+        }
+    }
+
+    /**
+     * A trie node, reached from its parent over {@code label}. Children are
+     * stored in parallel arrays sorted by the first character of their label.
+     */
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private long[] terminals = NO_IDS;
+        private long[] top = NO_IDS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            char c = child.label.charAt(0);
+            int insertAt = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        // Replaces the child whose label starts with the same character
+        private void replaceChild(Node child) {
+            children[Arrays.binarySearch(keys, child.label.charAt(0))] = child;
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+    }
+
+    /**
+     * A suggestible catalog book and the trie keys it is stored under.
+     */
+    private static final class Entry {
+        private final long id;
+        private final String openLibraryId;
+        private final String title;
+        private final String author;
+        private final String coverUrl;
+        private final Set<String> keys = new LinkedHashSet<>();
+        private long popularity;
+
+        private Entry(CatalogIndexEntryDTO book, long popularity) {
+            this.id = book.getId();
+            this.openLibraryId = book.getOpenLibraryId();
+            this.title = book.getTitle() != null ? book.getTitle() : "";
+            this.author = book.getAuthor();
+            this.coverUrl = book.getCoverUrl();
+            this.popularity = popularity;
+
+            String titleKey = normalizeKey(book.getTitle());
+            addKey(titleKey);
+            // Let "hobbit" find "The Hobbit"
+            addKey(titleKey.replaceFirst("^(the|a|an) ", ""));
+            addKey(normalizeKey(book.getAuthor()));
+        }
+
+        private void addKey(String key) {
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+
+        private BookSearchResultDTO toSuggestion() {
+            BookSearchResultDTO result = new BookSearchResultDTO(openLibraryId, title, author, coverUrl, null);
+            result.setCatalogId(id);
+            return result;
+        }
+    }
+}
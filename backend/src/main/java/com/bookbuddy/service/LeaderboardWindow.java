@@ -0,0 +1,11 @@
+package com.bookbuddy.service;
+
+/**
+ * Time windows the review leaderboards are kept for.
+ */
+public enum LeaderboardWindow {
+    /** Reviews written in the current calendar month. */
+    MONTH,
+    /** All reviews. */
+    ALL_TIME
+}
@@ -0,0 +1,45 @@
+package com.bookbuddy.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a user's library listing: the sort order plus the sort key of
+ * the last entry returned. Encoded as opaque URL-safe base64 like
+ * {@link CatalogCursor}.
+ *
+ * @param sort    sort order the cursor belongs to
+ * @param lastId  ID of the last {@link com.bookbuddy.model.UserBook} on the previous page
+ * @param lastKey date added (ISO format) or book title of the last entry
+ */
+record LibraryCursor(LibrarySort sort, long lastId, String lastKey) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * @return the cursor as an opaque string
+     */
+    String encode() {
+        String raw = VERSION + "|" + sort.name() + "|" + lastId + "|" + (lastKey != null ? lastKey : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor created by {@link #encode()}.
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static LibraryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Limit 4 so titles containing '|' survive
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new LibraryCursor(LibrarySort.valueOf(parts[1]), Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            // Also covers bad base64, unknown sort names and bad numbers
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.bookbuddy.service;
+
+/**
+ * Sort orders supported by the paginated user library.
+ * All are total orders (ties broken by ID), which keyset pagination needs.
+ */
+public enum LibrarySort {
+    /** Most recently added books first. */
+    RECENT,
+    /** Earliest added books first. */
+    OLDEST,
+    /** Alphabetical by book title. */
+    TITLE
+}
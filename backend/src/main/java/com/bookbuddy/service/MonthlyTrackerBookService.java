@@ -1,12 +1,15 @@
 package com.bookbuddy.service;
 
+import com.bookbuddy.model.MonthlyTracker;
 import com.bookbuddy.model.MonthlyTrackerBook;
+import com.bookbuddy.model.UserBook;
 import com.bookbuddy.repository.MonthlyTrackerBookRepository;
+import com.bookbuddy.repository.UserBookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * Service layer for managing {@link MonthlyTrackerBook} entities.
@@ -28,15 +31,25 @@ import java.util.Optional;
 public class MonthlyTrackerBookService {
 
     private final MonthlyTrackerBookRepository monthlyTrackerBookRepository;
+    private final UserBookRepository userBookRepository;
+
+    /**
+     * Result of a bulk add: the created records and one message per rejected ID.
+     */
+    public record BulkAddResult(List<MonthlyTrackerBook> added, List<String> errors) {
+    }
 
     /**
      * Constructor injection for the MonthlyTrackerBookRepository dependency.
      * 
      * @param monthlyTrackerBookRepository repository instance injected by Spring
+     * @param userBookRepository used to load the user books of a bulk add in one query
      */
     @Autowired
-    public MonthlyTrackerBookService(MonthlyTrackerBookRepository monthlyTrackerBookRepository) {
+    public MonthlyTrackerBookService(MonthlyTrackerBookRepository monthlyTrackerBookRepository,
+                                     UserBookRepository userBookRepository) {
         this.monthlyTrackerBookRepository = monthlyTrackerBookRepository;
+        this.userBookRepository = userBookRepository;
     }
 
     /**
@@ -44,11 +57,69 @@ public class MonthlyTrackerBookService {
      * 
      * @param trackerBook the {@link MonthlyTrackerBook} to be saved or updated
      * @return the saved {@link MonthlyTrackerBook} entity
+     * @throws org.springframework.dao.DataIntegrityViolationException if the
+     *         user book is already in the tracker
      */
     public MonthlyTrackerBook saveMonthlyTrackerBook(MonthlyTrackerBook trackerBook) {
         return monthlyTrackerBookRepository.save(trackerBook);
     }
 
+    /**
+     * Adds several user books to a tracker in one transaction.
+     *
+     * The user books and the existing tracker membership are each loaded
+     * with a single query; validation then runs in memory, and all valid
+     * records are saved together. IDs that are missing, already in the
+     * tracker, or owned by another user are reported in {@code errors}.
+     *
+     * @param tracker     the tracker to add to
+     * @param userBookIds IDs of the user books to add
+     * @return the created records and the per-ID errors
+     * @throws org.springframework.dao.DataIntegrityViolationException if a
+     *         concurrent request added one of the books first (nothing is saved)
+     */
+    @Transactional
+    public BulkAddResult addBooksToTracker(MonthlyTracker tracker, List<Long> userBookIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userBookIds);
+        distinctIds.remove(null);
+
+        Map<Long, UserBook> userBooks = new HashMap<>();
+        for (UserBook userBook : userBookRepository.findAllById(distinctIds)) {
+            userBooks.put(userBook.getId(), userBook);
+        }
+        Set<Long> inTracker = new HashSet<>(
+                monthlyTrackerBookRepository.findUserBookIdsInTracker(tracker.getId(), distinctIds));
+
+        List<MonthlyTrackerBook> toAdd = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        for (Long userBookId : userBookIds) {
+            UserBook userBook = userBookId != null ? userBooks.get(userBookId) : null;
+            if (userBook == null) {
+                errors.add("UserBook not found with id: " + userBookId);
+                continue;
+            }
+
+            // Also catches the same ID listed twice in one request
+            if (!inTracker.add(userBookId)) {
+                errors.add("Book " + userBookId + " is already in tracker");
+                continue;
+            }
+
+            if (!Objects.equals(userBook.getUser().getId(), tracker.getUser().getId())) {
+                errors.add("Book " + userBookId + " does not belong to the same user");
+                continue;
+            }
+
+            toAdd.add(new MonthlyTrackerBook(tracker, userBook));
+        }
+
+        List<MonthlyTrackerBook> added = toAdd.isEmpty()
+                ? List.of()
+                : monthlyTrackerBookRepository.saveAll(toAdd);
+        return new BulkAddResult(added, errors);
+    }
+
     /**
      * Retrieves all {@link MonthlyTrackerBook} records from the database.
      * 
@@ -115,16 +186,7 @@ public class MonthlyTrackerBookService {
      * @return true if the book is already in the tracker
      */
     public boolean isBookInTracker(Long trackerId, Long userBookId) {
-        List<MonthlyTrackerBook> trackerBooks = monthlyTrackerBookRepository.findByMonthlyTrackerId(trackerId);
-
-        for (MonthlyTrackerBook trackerBook : trackerBooks) {
-            if (trackerBook.getUserBook() != null
-                    && trackerBook.getUserBook().getId().equals(userBookId)) {
-                return true;
-            }
-        }
-
-        return false;
+        return monthlyTrackerBookRepository.existsByMonthlyTrackerIdAndUserBookId(trackerId, userBookId);
     }
 
     /**
@@ -137,7 +199,7 @@ public class MonthlyTrackerBookService {
     public List<MonthlyTrackerBook> getBooksWithStatus(Long trackerId, boolean completed) {
         List<MonthlyTrackerBook> allBooks = monthlyTrackerBookRepository.findByMonthlyTrackerId(trackerId);
 
-        List<MonthlyTrackerBook> filtered = new java.util.ArrayList<>();
+        List<MonthlyTrackerBook> filtered = new ArrayList<>();
         for (MonthlyTrackerBook book : allBooks) {
             if (book.isCompleted() == completed) {
                 filtered.add(book);
@@ -44,6 +44,8 @@ public class MonthlyTrackerService {
      * 
      * @param tracker the {@link MonthlyTracker} entity to be saved or updated
      * @return the saved {@link MonthlyTracker} entity
+     * @throws org.springframework.dao.DataIntegrityViolationException if the user
+     *         already has a tracker for the same month and year
      */
     public MonthlyTracker saveTracker(MonthlyTracker tracker) {
         return monthlyTrackerRepository.save(tracker);
@@ -55,7 +57,7 @@ public class MonthlyTrackerService {
      * @return list of all {@link MonthlyTracker} entities
      */
     public List<MonthlyTracker> getAllTrackers() {
-        return monthlyTrackerRepository.findAll();
+        return monthlyTrackerRepository.findAllWithBooks();
     }
 
     /**
@@ -68,6 +70,17 @@ public class MonthlyTrackerService {
         return monthlyTrackerRepository.findById(id);
     }
 
+    /**
+     * Retrieves a {@link MonthlyTracker} with its goal books loaded,
+     * for returning the tracker to the client.
+     *
+     * @param id the unique ID of the tracker
+     * @return an {@link Optional} containing the tracker if found
+     */
+    public Optional<MonthlyTracker> getTrackerWithBooksById(Long id) {
+        return monthlyTrackerRepository.findWithBooksById(id);
+    }
+
     /**
      * Deletes a {@link MonthlyTracker} entry by its ID.
      * 
@@ -84,7 +97,7 @@ public class MonthlyTrackerService {
      * @return list of {@link MonthlyTracker} entries linked to that user
      */
     public List<MonthlyTracker> getTrackersByUserId(Long userId) {
-        return monthlyTrackerRepository.findByUserId(userId);
+        return monthlyTrackerRepository.findWithBooksByUserId(userId);
     }
 
     /**
@@ -117,15 +130,21 @@ public class MonthlyTrackerService {
      */
     public Optional<MonthlyTracker> getTrackerByUserAndMonth(Long userId, com.bookbuddy.model.Months month,
             String year) {
-        List<MonthlyTracker> trackers = monthlyTrackerRepository.findByUserId(userId);
-
-        for (MonthlyTracker tracker : trackers) {
-            if (tracker.getMonth().equals(month) && tracker.getYear().equals(year)) {
-                return Optional.of(tracker);
-            }
-        }
+        return monthlyTrackerRepository.findByUserIdAndMonthAndYear(userId, month, year);
+    }
 
-        return Optional.empty();
+    /**
+     * Retrieves a tracker for a specific user, month, and year with its
+     * goal books loaded, for returning the tracker to the client.
+     *
+     * @param userId the ID of the user
+     * @param month  the month enum
+     * @param year   the year as a string
+     * @return an {@link Optional} containing the tracker if found
+     */
+    public Optional<MonthlyTracker> getTrackerWithBooksByUserAndMonth(Long userId, com.bookbuddy.model.Months month,
+            String year) {
+        return monthlyTrackerRepository.findWithBooksByUserIdAndMonthAndYear(userId, month, year);
     }
 
     /**
@@ -161,35 +180,15 @@ public class MonthlyTrackerService {
      * @throws IllegalArgumentException if tracker not found
      */
     public com.bookbuddy.dto.TrackerProgressDTO calculateProgress(Long trackerId) {
-        Optional<MonthlyTracker> trackerOpt = monthlyTrackerRepository.findById(trackerId);
-
-        if (trackerOpt.isEmpty()) {
-            throw new IllegalArgumentException("Tracker not found with ID: " + trackerId);
-        }
-
-        MonthlyTracker tracker = trackerOpt.get();
-        int totalBooks = tracker.getGoalBooks().size();
-
-        int completedBooks = 0;
-        for (com.bookbuddy.model.MonthlyTrackerBook book : tracker.getGoalBooks()) {
-            if (book.isCompleted()) {
-                completedBooks++;
-            }
-        }
+        // Counts come from one aggregate query; the books are never loaded
+        com.bookbuddy.dto.TrackerProgressDTO progress = monthlyTrackerRepository.findProgressById(trackerId)
+                .orElseThrow(() -> new IllegalArgumentException("Tracker not found with ID: " + trackerId));
 
         double percentage = 0.0;
-        if (tracker.getTargetBooksNum() > 0) {
-            percentage = (completedBooks * 100.0) / tracker.getTargetBooksNum();
+        if (progress.getTargetBooks() > 0) {
+            percentage = (progress.getCompletedBooks() * 100.0) / progress.getTargetBooks();
         }
-
-        com.bookbuddy.dto.TrackerProgressDTO progress = new com.bookbuddy.dto.TrackerProgressDTO();
-        progress.setTrackerId(trackerId);
-        progress.setTargetBooks(tracker.getTargetBooksNum());
-        progress.setTotalBooks(totalBooks);
-        progress.setCompletedBooks(completedBooks);
         progress.setCompletionPercentage(Math.round(percentage * 100.0) / 100.0);
-        progress.setMonth(tracker.getMonth().name());
-        progress.setYear(tracker.getYear());
 
         return progress;
     }
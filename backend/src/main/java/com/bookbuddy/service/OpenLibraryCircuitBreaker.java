@@ -0,0 +1,104 @@
+package com.bookbuddy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker guarding calls to the Open Library API.
+ *
+ * The circuit opens after a number of consecutive failed or slow calls.
+ * While open, calls are rejected immediately so callers can fall back to
+ * stale data instead of waiting on a struggling upstream. After the open
+ * duration a single trial call is let through (half-open); its outcome
+ * either closes the circuit again or re-opens it.
+ */
+@Component
+public class OpenLibraryCircuitBreaker {
+
+    /** States of the circuit. */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean trialInProgress = false;
+
+    /**
+     * @param failureThreshold  consecutive failed or slow calls that open the circuit
+     * @param slowCallThreshold calls taking longer than this count as failures
+     * @param openDuration      how long the circuit stays open before a trial call
+     */
+    @Autowired
+    public OpenLibraryCircuitBreaker(
+            @Value("${openlibrary.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${openlibrary.circuit.slow-call-threshold:3s}") Duration slowCallThreshold,
+            @Value("${openlibrary.circuit.open-duration:30s}") Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Checks whether a call may go upstream right now.
+     * @return true if the call is permitted; false if the circuit is open
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            trialInProgress = false;
+        }
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInProgress) {
+            trialInProgress = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a call that returned a response.
+     * Calls slower than the slow-call threshold are counted as failures.
+     * @param elapsed how long the call took
+     */
+    public synchronized void recordSuccess(Duration elapsed) {
+        if (elapsed.toNanos() > slowCallNanos) {
+            recordFailure();
+            return;
+        }
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInProgress = false;
+    }
+
+    /**
+     * Records a call that failed (error or timeout).
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInProgress = false;
+        }
+    }
+
+    /** @return the current state of the circuit */
+    public synchronized State getState() {
+        return state;
+    }
+}
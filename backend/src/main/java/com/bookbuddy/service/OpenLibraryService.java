@@ -1,22 +1,91 @@
 package com.bookbuddy.service;
 
 import com.bookbuddy.dto.OpenLibrarySearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Service for integrating with Open Library Search API
  * https://openlibrary.org/dev/docs/api/search
+ *
+ * Search results are kept in a size-bounded in-process cache so repeated
+ * searches for the same (query, mode, limit, page) do not hit Open Library again.
+ * Concurrent misses for the same key are coalesced into a single upstream call
+ * whose result (or failure) is shared by every waiting caller.
+ *
+ * Upstream calls go through {@link OpenLibraryCircuitBreaker}. When a call is
+ * rejected or fails, the last good response for the same key is served from a
+ * longer-lived stale store, and the key is refreshed in the background once
+ * Open Library answers again.
  */
 @Service
 public class OpenLibraryService {
 
     private static final String BASE_URL = "https://openlibrary.org/search.json";
+    private static final String FIELDS = "key,title,author_name,first_publish_year,cover_i,isbn,edition_count";
+    private static final int MAX_PENDING_REFRESHES = 500;
+
     private final RestTemplate restTemplate;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final OpenLibraryCircuitBreaker circuitBreaker;
+    private final Executor refreshExecutor;
+    private final Cache<SearchKey, OpenLibrarySearchResponse> searchCache;
+    private final Cache<SearchKey, OpenLibrarySearchResponse> staleCache;
+    private final Map<SearchKey, CompletableFuture<OpenLibrarySearchResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<SearchKey, String> pendingRefresh = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    private final AtomicLong staleResponses = new AtomicLong();
 
-    public OpenLibraryService() {
-        this.restTemplate = new RestTemplate();
+    /**
+     * @param restTemplate      pooled HTTP client from {@link com.bookbuddy.config.OpenLibraryClientConfig}
+     * @param connectionManager connection pool behind the client, used for pool stats
+     * @param circuitBreaker    breaker that rejects calls while Open Library is failing
+     * @param refreshExecutor   executor for background refreshes of stale entries
+     * @param cacheTtl          how long a search result stays cached after it is fetched
+     * @param staleTtl          how long the last good result is kept as a fallback
+     * @param cacheMaxSize      maximum number of cached search results
+     */
+    @Autowired
+    public OpenLibraryService(
+            @Qualifier("openLibraryRestTemplate") RestTemplate restTemplate,
+            @Qualifier("openLibraryConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            OpenLibraryCircuitBreaker circuitBreaker,
+            @Qualifier("openLibraryRefreshExecutor") Executor refreshExecutor,
+            @Value("${openlibrary.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${openlibrary.cache.stale-ttl:24h}") Duration staleTtl,
+            @Value("${openlibrary.cache.max-size:1000}") long cacheMaxSize) {
+        this.restTemplate = restTemplate;
+        this.connectionManager = connectionManager;
+        this.circuitBreaker = circuitBreaker;
+        this.refreshExecutor = refreshExecutor;
+        this.searchCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        this.staleCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
     }
 
     /**
@@ -27,42 +96,218 @@ public class OpenLibraryService {
      * @return OpenLibrarySearchResponse with search results
      */
     public OpenLibrarySearchResponse searchBooks(String query, Integer limit, Integer page) {
+        SearchKey key = SearchKey.of("q", query, limit, page);
         String url = UriComponentsBuilder.fromHttpUrl(BASE_URL)
                 .queryParam("q", query)
-                .queryParam("limit", limit != null ? limit : 10)
-                .queryParam("page", page != null ? page : 1)
-                .queryParam("fields", "key,title,author_name,first_publish_year,cover_i,isbn,edition_count")
+                .queryParam("limit", key.limit())
+                .queryParam("page", key.page())
+                .queryParam("fields", FIELDS)
                 .build()
                 .toUriString();
 
-        return restTemplate.getForObject(url, OpenLibrarySearchResponse.class);
+        return fetchCached(key, url);
     }
 
     /**
      * Search books by title
      */
     public OpenLibrarySearchResponse searchByTitle(String title, Integer limit) {
+        SearchKey key = SearchKey.of("title", title, limit, null);
         String url = UriComponentsBuilder.fromHttpUrl(BASE_URL)
                 .queryParam("title", title)
-                .queryParam("limit", limit != null ? limit : 10)
-                .queryParam("fields", "key,title,author_name,first_publish_year,cover_i,isbn,edition_count")
+                .queryParam("limit", key.limit())
+                .queryParam("fields", FIELDS)
                 .build()
                 .toUriString();
 
-        return restTemplate.getForObject(url, OpenLibrarySearchResponse.class);
+        return fetchCached(key, url);
     }
 
     /**
      * Search books by author
      */
     public OpenLibrarySearchResponse searchByAuthor(String author, Integer limit) {
+        SearchKey key = SearchKey.of("author", author, limit, null);
         String url = UriComponentsBuilder.fromHttpUrl(BASE_URL)
                 .queryParam("author", author)
-                .queryParam("limit", limit != null ? limit : 10)
-                .queryParam("fields", "key,title,author_name,first_publish_year,cover_i,isbn,edition_count")
+                .queryParam("limit", key.limit())
+                .queryParam("fields", FIELDS)
                 .build()
                 .toUriString();
 
+        return fetchCached(key, url);
+    }
+
+    /**
+     * Returns hit/miss/eviction counters for the search cache.
+     */
+    public Map<String, Object> getCacheStats() {
+        CacheStats stats = searchCache.stats();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("size", searchCache.estimatedSize());
+        response.put("hits", stats.hitCount());
+        response.put("misses", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictions", stats.evictionCount());
+        response.put("inFlight", inFlight.size());
+        response.put("coalesced", coalescedRequests.get());
+        response.put("staleServed", staleResponses.get());
+        response.put("pendingRefresh", pendingRefresh.size());
+        response.put("circuitState", circuitBreaker.getState().name());
+        return response;
+    }
+
+    /**
+     * Returns usage of the outbound connection pool.
+     */
+    public Map<String, Object> getConnectionPoolStats() {
+        PoolStats stats = connectionManager.getTotalStats();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("leased", stats.getLeased());
+        response.put("available", stats.getAvailable());
+        response.put("pending", stats.getPending());
+        response.put("max", stats.getMax());
+        response.put("maxPerRoute", connectionManager.getDefaultMaxPerRoute());
+        return response;
+    }
+
+    /**
+     * Serves the response from the cache, or calls Open Library and caches the result.
+     * Only one upstream call per key is in flight at a time; other callers for the
+     * same key wait for it and get the same response or exception.
+     */
+    private OpenLibrarySearchResponse fetchCached(SearchKey key, String url) {
+        OpenLibrarySearchResponse cached = searchCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<OpenLibrarySearchResponse> call = new CompletableFuture<>();
+        CompletableFuture<OpenLibrarySearchResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedRequests.incrementAndGet();
+            return awaitShared(existing);
+        }
+
+        try {
+            // A previous call may have filled the cache between our miss and claiming the key
+            OpenLibrarySearchResponse response = searchCache.asMap().get(key);
+            if (response == null) {
+                response = loadThroughCircuitBreaker(key, url);
+            }
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Calls Open Library if the circuit allows it, falling back to the stale
+     * store when the call is rejected or fails.
+     */
+    private OpenLibrarySearchResponse loadThroughCircuitBreaker(SearchKey key, String url) {
+        if (!circuitBreaker.tryAcquire()) {
+            return serveStale(key, url, null);
+        }
+
+        long start = System.nanoTime();
+        OpenLibrarySearchResponse response;
+        try {
+            response = fetchFromUpstream(url);
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            return serveStale(key, url, e);
+        }
+
+        circuitBreaker.recordSuccess(Duration.ofNanos(System.nanoTime() - start));
+        if (response != null) {
+            searchCache.put(key, response);
+            staleCache.put(key, response);
+        }
+        if (!pendingRefresh.isEmpty()) {
+            refreshStaleEntries();
+        }
+        return response;
+    }
+
+    /**
+     * Returns the last good response for the key and schedules it for refresh.
+     * Rethrows the upstream failure when nothing stale is available.
+     */
+    private OpenLibrarySearchResponse serveStale(SearchKey key, String url, RuntimeException cause) {
+        OpenLibrarySearchResponse stale = staleCache.getIfPresent(key);
+        if (stale == null) {
+            if (cause != null) {
+                throw cause;
+            }
+            throw new OpenLibraryUnavailableException("Open Library is temporarily unavailable, please try again later");
+        }
+
+        staleResponses.incrementAndGet();
+        if (pendingRefresh.size() < MAX_PENDING_REFRESHES) {
+            pendingRefresh.put(key, url);
+        }
+        return stale;
+    }
+
+    /**
+     * Re-fetches every key that was served stale, now that Open Library answered again.
+     */
+    private void refreshStaleEntries() {
+        for (SearchKey key : pendingRefresh.keySet()) {
+            String url = pendingRefresh.remove(key);
+            if (url != null) {
+                refreshExecutor.execute(() -> {
+                    try {
+                        fetchCached(key, url);
+                    } catch (RuntimeException ignored) {
+                        // Still failing; the next stale hit will queue it again
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Performs the actual HTTP call to Open Library.
+     */
+    OpenLibrarySearchResponse fetchFromUpstream(String url) {
         return restTemplate.getForObject(url, OpenLibrarySearchResponse.class);
     }
+
+    /**
+     * Waits for another caller's upstream call and rethrows its failure unchanged.
+     */
+    private OpenLibrarySearchResponse awaitShared(CompletableFuture<OpenLibrarySearchResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cache key for a search. The query is trimmed, lower-cased and has its
+     * whitespace collapsed so "Dune " and "dune" share one entry.
+     */
+    record SearchKey(String mode, String query, int limit, int page) {
+
+        static SearchKey of(String mode, String query, Integer limit, Integer page) {
+            String normalized = query == null
+                    ? ""
+                    : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            return new SearchKey(mode, normalized,
+                    limit != null ? limit : 10,
+                    page != null ? page : 1);
+        }
+    }
 }
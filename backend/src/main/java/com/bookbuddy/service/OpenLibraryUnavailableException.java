@@ -0,0 +1,16 @@
+package com.bookbuddy.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when Open Library cannot be reached (circuit open) and no
+ * previously fetched result is available to serve instead.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class OpenLibraryUnavailableException extends RuntimeException {
+
+    public OpenLibraryUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,265 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.model.Genre;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk loads an Open Library works dump into the book catalog.
+ *
+ * The dump is read line by line (gzipped or plain), so memory use is bounded
+ * by the chunk size rather than the file size. Each chunk is written with one
+ * JDBC batch inside its own transaction, and rows whose {@code openLibraryId}
+ * already exists are skipped by the database. After every committed chunk the
+ * number of processed lines is written to a checkpoint file, so an interrupted
+ * import continues where it stopped.
+ *
+ * Accepted line formats:
+ *   - the official dump: tab separated type, key, revision, last modified, JSON
+ *   - plain JSON lines with the same fields
+ */
+@Service
+public class OpenLibraryWorksImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenLibraryWorksImporter.class);
+
+    static final String UNKNOWN_AUTHOR = "Unknown Author";
+
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO book_catalog (title, author, description, cover_url, open_library_id, genre) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT(open_library_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public OpenLibraryWorksImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Totals of one import run.
+     * @param linesRead  lines read in this run (excluding lines skipped by the checkpoint)
+     * @param inserted   new catalog rows
+     * @param duplicates valid works that were already in the catalog
+     * @param invalid    lines that could not be mapped to a book
+     * @param elapsed    wall-clock time of the run
+     */
+    public record ImportResult(long linesRead, long inserted, long duplicates, long invalid, Duration elapsed) {
+    }
+
+    /**
+     * Imports a works dump, resuming from the checkpoint file if it exists.
+     * @param dump       path to the dump ({@code .gz} files are decompressed on the fly)
+     * @param checkpoint file holding the number of lines already imported
+     * @param chunkSize  rows per batch and transaction
+     * @return totals of this run
+     */
+    public ImportResult importWorks(Path dump, Path checkpoint, int chunkSize) throws IOException {
+        long startedAt = System.nanoTime();
+        long resumeAfter = readCheckpoint(checkpoint);
+        if (resumeAfter > 0) {
+            log.info("Resuming import of {} after line {}", dump, resumeAfter);
+        }
+
+        long lineNumber = 0;
+        long linesRead = 0;
+        long inserted = 0;
+        long duplicates = 0;
+        long invalid = 0;
+        Map<String, WorkRow> chunk = new LinkedHashMap<>();
+
+        try (BufferedReader reader = open(dump)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter) {
+                    continue;
+                }
+                linesRead++;
+
+                WorkRow row = parseLine(line);
+                if (row == null) {
+                    invalid++;
+                } else if (chunk.putIfAbsent(row.openLibraryId(), row) != null) {
+                    duplicates++;
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    int written = writeChunk(chunk.values());
+                    inserted += written;
+                    duplicates += chunk.size() - written;
+                    chunk.clear();
+                    writeCheckpoint(checkpoint, lineNumber);
+                    logProgress(lineNumber, inserted, startedAt);
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            int written = writeChunk(chunk.values());
+            inserted += written;
+            duplicates += chunk.size() - written;
+        }
+        writeCheckpoint(checkpoint, lineNumber);
+
+        ImportResult result = new ImportResult(linesRead, inserted, duplicates, invalid,
+                Duration.ofNanos(System.nanoTime() - startedAt));
+        log.info("Import of {} finished: {} lines, {} inserted, {} duplicates, {} invalid in {}s",
+                dump, result.linesRead(), result.inserted(), result.duplicates(), result.invalid(),
+                result.elapsed().toSeconds());
+        return result;
+    }
+
+    /**
+     * Writes one chunk in a single transaction.
+     * @return number of rows actually inserted
+     */
+    private int writeChunk(Iterable<WorkRow> rows) {
+        List<Object[]> args = new ArrayList<>();
+        for (WorkRow row : rows) {
+            args.add(new Object[]{row.title(), row.author(), row.description(), row.coverUrl(),
+                    row.openLibraryId(), Genre.OTHER.name()});
+        }
+
+        Integer written = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (int updated : jdbcTemplate.batchUpdate(INSERT_SQL, args)) {
+                // Some drivers report SUCCESS_NO_INFO (-2) instead of a row count
+                count += updated > 0 ? updated : 0;
+            }
+            return count;
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Maps one dump line to a catalog row.
+     * @return the row, or null if the line is not a work with a key and title
+     */
+    WorkRow parseLine(String line) {
+        if (line == null || line.isBlank()) {
+            return null;
+        }
+
+        // Official dumps are TSV with the JSON record in the last column
+        int tab = line.lastIndexOf('\t');
+        String json = tab >= 0 ? line.substring(tab + 1) : line;
+
+        JsonNode work;
+        try {
+            work = objectMapper.readTree(json);
+        } catch (IOException e) {
+            return null;
+        }
+        if (work == null || !work.isObject()) {
+            return null;
+        }
+
+        String type = work.path("type").path("key").asText("/type/work");
+        String key = work.path("key").asText(null);
+        String title = truncate(work.path("title").asText(null), MAX_TEXT_LENGTH);
+        if (!"/type/work".equals(type) || key == null || title == null || title.isBlank()) {
+            return null;
+        }
+
+        String author = UNKNOWN_AUTHOR;
+        // Works records only reference author keys; search-style records carry names
+        JsonNode authorNames = work.path("author_name");
+        if (authorNames.isArray() && !authorNames.isEmpty()) {
+            author = truncate(authorNames.get(0).asText(UNKNOWN_AUTHOR), MAX_TEXT_LENGTH);
+        }
+
+        JsonNode descriptionNode = work.path("description");
+        String description = descriptionNode.isObject()
+                ? descriptionNode.path("value").asText("")
+                : descriptionNode.asText("");
+
+        String coverUrl = "";
+        JsonNode covers = work.path("covers");
+        if (covers.isArray()) {
+            for (JsonNode cover : covers) {
+                // Negative IDs mark deleted covers
+                if (cover.asLong(-1) > 0) {
+                    coverUrl = "https://covers.openlibrary.org/b/id/" + cover.asLong() + "-L.jpg";
+                    break;
+                }
+            }
+        }
+
+        return new WorkRow(BookSearchResultDTO.extractOpenLibraryId(key), title.trim(), author,
+                truncate(description, MAX_DESCRIPTION_LENGTH), coverUrl);
+    }
+
+    private void logProgress(long lineNumber, long inserted, long startedAt) {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        log.info("Imported up to line {}: {} inserted ({} rows/s)",
+                lineNumber, inserted, Math.round(inserted / Math.max(seconds, 0.001)));
+    }
+
+    private static BufferedReader open(Path dump) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(dump), 1 << 16);
+        if (dump.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static long readCheckpoint(Path checkpoint) throws IOException {
+        if (checkpoint == null || !Files.exists(checkpoint)) {
+            return 0;
+        }
+        String content = Files.readString(checkpoint).trim();
+        return content.isEmpty() ? 0 : Long.parseLong(content);
+    }
+
+    /**
+     * Replaces the checkpoint atomically so a crash never leaves a partial file.
+     */
+    private static void writeCheckpoint(Path checkpoint, long lineNumber) throws IOException {
+        if (checkpoint == null) {
+            return;
+        }
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(lineNumber));
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength);
+    }
+
+    /**
+     * The catalog columns filled from one work.
+     */
+    record WorkRow(String openLibraryId, String title, String author, String description, String coverUrl) {
+    }
+}
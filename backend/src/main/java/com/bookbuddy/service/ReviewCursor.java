@@ -0,0 +1,52 @@
+package com.bookbuddy.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a review listing: the sort order plus the sort key of the
+ * last review returned. Encoded as opaque URL-safe base64 like
+ * {@link CatalogCursor}.
+ *
+ * @param sort       sort order the cursor belongs to
+ * @param lastId     ID of the last review on the previous page
+ * @param lastRating rating of the last review (only used when sorting by rating)
+ */
+record ReviewCursor(ReviewSort sort, long lastId, int lastRating) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * @return a cursor positioned before the first review of the given order
+     */
+    static ReviewCursor start(ReviewSort sort) {
+        // Both orders are descending, so start above every real key
+        return new ReviewCursor(sort, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the cursor as an opaque string
+     */
+    String encode() {
+        String raw = VERSION + "|" + sort.name() + "|" + lastId + "|" + lastRating;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor created by {@link #encode()}.
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static ReviewCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ReviewCursor(ReviewSort.valueOf(parts[1]), Long.parseLong(parts[2]), Integer.parseInt(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad base64, unknown sort names and bad numbers
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
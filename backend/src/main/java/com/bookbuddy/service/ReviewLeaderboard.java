@@ -0,0 +1,332 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.LeaderboardEntryDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.model.BookRatingAggregate;
+import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.BookRatingAggregateRepository;
+import com.bookbuddy.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * "Top rated" and "most reviewed" book leaderboards for the current month
+ * and for all time.
+ *
+ * Review count and rating sum per book are kept in memory and updated by
+ * {@link ReviewService} on every review write. A scheduled refresh turns
+ * them into immutable top-K snapshots with a bounded heap, so reads never
+ * touch the database and never sort the whole catalog.
+ *
+ * Top rated uses a Bayesian average, {@code (C * m + sum) / (C + n)} where
+ * {@code m} is the mean rating of the window and {@code C} the prior weight,
+ * so a single 5-star review does not beat a book with hundreds of good ones.
+ * Books with fewer than {@code min-reviews} reviews are left out.
+ */
+@Component
+public class ReviewLeaderboard {
+
+    // Ascending orders, so the heap head is the weakest of the current top K
+    private static final Comparator<Candidate> BY_SCORE = Comparator
+            .comparingDouble(Candidate::score)
+            .thenComparingLong(Candidate::reviewCount)
+            .thenComparing(Comparator.comparingLong(Candidate::bookId).reversed());
+    private static final Comparator<Candidate> BY_REVIEW_COUNT = Comparator
+            .comparingLong(Candidate::reviewCount)
+            .thenComparingDouble(Candidate::score)
+            .thenComparing(Comparator.comparingLong(Candidate::bookId).reversed());
+
+    private final BookRatingAggregateRepository ratingAggregateRepository;
+    private final ReviewRepository reviewRepository;
+    private final BookCatalogRepository bookCatalogRepository;
+    private final int size;
+    private final int minReviews;
+    private final double priorWeight;
+    private final Clock clock;
+
+    // bookId -> {review count, rating sum}; guarded by "this"
+    private final Map<LeaderboardWindow, Map<Long, long[]>> stats = new EnumMap<>(LeaderboardWindow.class);
+    private YearMonth currentMonth;
+    private boolean dirty;
+    // Review changes made while a rebuild is reading, replayed onto the loaded totals
+    private List<ReviewChange> pendingChanges;
+    // Incremented for every computed snapshot; an older one is never published over a newer one
+    private long generation;
+    private long publishedGeneration;
+    private final Object rebuildLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    @Autowired
+    public ReviewLeaderboard(
+            BookRatingAggregateRepository ratingAggregateRepository,
+            ReviewRepository reviewRepository,
+            BookCatalogRepository bookCatalogRepository,
+            @Value("${bookbuddy.leaderboard.size:10}") int size,
+            @Value("${bookbuddy.leaderboard.min-reviews:3}") int minReviews,
+            @Value("${bookbuddy.leaderboard.prior-weight:5}") double priorWeight) {
+        this(ratingAggregateRepository, reviewRepository, bookCatalogRepository,
+                size, minReviews, priorWeight, Clock.systemDefaultZone());
+    }
+
+    ReviewLeaderboard(
+            BookRatingAggregateRepository ratingAggregateRepository,
+            ReviewRepository reviewRepository,
+            BookCatalogRepository bookCatalogRepository,
+            int size, int minReviews, double priorWeight, Clock clock) {
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.reviewRepository = reviewRepository;
+        this.bookCatalogRepository = bookCatalogRepository;
+        this.size = size;
+        this.minReviews = minReviews;
+        this.priorWeight = priorWeight;
+        this.clock = clock;
+        this.currentMonth = YearMonth.now(clock);
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            stats.put(window, new HashMap<>());
+        }
+    }
+
+    /**
+     * Loads the per-book totals from the rating aggregates and this month's
+     * reviews once the application has started, and again whenever the
+     * aggregates are rebuilt.
+     *
+     * Reviews added or removed while the totals are being read are recorded
+     * and applied again on top of the loaded totals, so they are not wiped.
+     * A review whose transaction commits just before the read but whose
+     * after-commit update arrives just after it can be counted twice, until
+     * the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                List<BookRatingAggregate> aggregates = ratingAggregateRepository.findAll();
+                YearMonth month = YearMonth.now(clock);
+                List<Object[]> monthRows = reviewRepository.sumRatingsPerBookSince(month.atDay(1));
+
+                synchronized (this) {
+                    currentMonth = month;
+                    Map<Long, long[]> allTime = stats.get(LeaderboardWindow.ALL_TIME);
+                    allTime.clear();
+                    for (BookRatingAggregate aggregate : aggregates) {
+                        if (aggregate.getReviewCount() > 0) {
+                            allTime.put(aggregate.getBookId(),
+                                    new long[]{aggregate.getReviewCount(), aggregate.getRatingSum()});
+                        }
+                    }
+                    Map<Long, long[]> monthly = stats.get(LeaderboardWindow.MONTH);
+                    monthly.clear();
+                    for (Object[] row : monthRows) {
+                        monthly.put((Long) row[0], new long[]{(Long) row[1], ((Number) row[2]).longValue()});
+                    }
+                    for (ReviewChange change : pendingChanges) {
+                        addToTotals(change);
+                    }
+                    dirty = true;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Counts a new (or edited) review.
+     * @param createdAt the date the review was written, or null if unknown
+     */
+    public void reviewAdded(long bookId, int rating, LocalDate createdAt) {
+        apply(bookId, rating, createdAt, 1);
+    }
+
+    /**
+     * Removes a deleted (or edited) review from the totals.
+     * @param createdAt the date the review was written, or null if unknown
+     */
+    public void reviewRemoved(long bookId, int rating, LocalDate createdAt) {
+        apply(bookId, rating, createdAt, -1);
+    }
+
+    private synchronized void apply(long bookId, int rating, LocalDate createdAt, int delta) {
+        ReviewChange change = new ReviewChange(bookId, rating, createdAt, delta);
+        rollOverMonth();
+        addToTotals(change);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+        dirty = true;
+    }
+
+    private void addToTotals(ReviewChange change) {
+        add(stats.get(LeaderboardWindow.ALL_TIME), change.bookId(), change.rating(), change.delta());
+        if (change.createdAt() != null && YearMonth.from(change.createdAt()).equals(currentMonth)) {
+            add(stats.get(LeaderboardWindow.MONTH), change.bookId(), change.rating(), change.delta());
+        }
+    }
+
+    private static void add(Map<Long, long[]> totals, long bookId, int rating, int delta) {
+        long[] t = totals.computeIfAbsent(bookId, id -> new long[2]);
+        t[0] += delta;
+        t[1] += (long) delta * rating;
+        if (t[0] <= 0) {
+            totals.remove(bookId);
+        }
+    }
+
+    // Starts an empty monthly window when the calendar month changes
+    private void rollOverMonth() {
+        YearMonth now = YearMonth.now(clock);
+        if (!now.equals(currentMonth)) {
+            currentMonth = now;
+            stats.get(LeaderboardWindow.MONTH).clear();
+            dirty = true;
+        }
+    }
+
+    /**
+     * Recomputes the leaderboard snapshots if any review changed since the last run.
+     */
+    @Scheduled(fixedDelayString = "${bookbuddy.leaderboard.refresh-interval:60s}",
+            initialDelayString = "${bookbuddy.leaderboard.refresh-interval:60s}")
+    public void refresh() {
+        Map<LeaderboardWindow, List<Candidate>> topRated = new EnumMap<>(LeaderboardWindow.class);
+        Map<LeaderboardWindow, List<Candidate>> mostReviewed = new EnumMap<>(LeaderboardWindow.class);
+        long computedGeneration;
+
+        synchronized (this) {
+            rollOverMonth();
+            if (!dirty) {
+                return;
+            }
+            computedGeneration = ++generation;
+            for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                Map<Long, long[]> totals = stats.get(window);
+                double mean = meanRating(totals);
+                topRated.put(window, top(totals, BY_SCORE, mean, minReviews));
+                mostReviewed.put(window, top(totals, BY_REVIEW_COUNT, mean, 1));
+            }
+            dirty = false;
+        }
+
+        // Book details are looked up outside the lock, only for the ranked books
+        Set<Long> bookIds = new HashSet<>();
+        topRated.values().forEach(list -> list.forEach(c -> bookIds.add(c.bookId())));
+        mostReviewed.values().forEach(list -> list.forEach(c -> bookIds.add(c.bookId())));
+        Map<Long, BookCatalog> books = new HashMap<>();
+        if (!bookIds.isEmpty()) {
+            for (BookCatalog book : bookCatalogRepository.findAllById(bookIds)) {
+                books.put(book.getId(), book);
+            }
+        }
+
+        Snapshot computed = new Snapshot(toEntries(topRated, books), toEntries(mostReviewed, books));
+        synchronized (this) {
+            // A refresh that computed later totals may have finished its lookup first
+            if (computedGeneration > publishedGeneration) {
+                publishedGeneration = computedGeneration;
+                snapshot = computed;
+            }
+        }
+    }
+
+    /**
+     * @param window time window
+     * @param limit  maximum number of books (at most {@code bookbuddy.leaderboard.size})
+     * @return the highest rated books by Bayesian average, best first
+     */
+    public List<LeaderboardEntryDTO> getTopRated(LeaderboardWindow window, int limit) {
+        return head(snapshot.topRated().getOrDefault(window, List.of()), limit);
+    }
+
+    /**
+     * @param window time window
+     * @param limit  maximum number of books (at most {@code bookbuddy.leaderboard.size})
+     * @return the books with the most reviews, most reviewed first
+     */
+    public List<LeaderboardEntryDTO> getMostReviewed(LeaderboardWindow window, int limit) {
+        return head(snapshot.mostReviewed().getOrDefault(window, List.of()), limit);
+    }
+
+    private static List<LeaderboardEntryDTO> head(List<LeaderboardEntryDTO> entries, int limit) {
+        return entries.subList(0, Math.max(0, Math.min(limit, entries.size())));
+    }
+
+    private static double meanRating(Map<Long, long[]> totals) {
+        long count = 0;
+        long sum = 0;
+        for (long[] t : totals.values()) {
+            count += t[0];
+            sum += t[1];
+        }
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Selects the best {@link #size} books with a bounded min-heap:
+     * O(n log k) time and O(k) extra memory.
+     */
+    private List<Candidate> top(Map<Long, long[]> totals, Comparator<Candidate> order,
+                                double mean, int minCount) {
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(size + 1, order);
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            long count = entry.getValue()[0];
+            if (count < minCount) {
+                continue;
+            }
+            long sum = entry.getValue()[1];
+            double score = (priorWeight * mean + sum) / (priorWeight + count);
+            heap.add(new Candidate(entry.getKey(), count, (double) sum / count, score));
+            if (heap.size() > size) {
+                heap.poll();
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(heap);
+        ranked.sort(order.reversed());
+        return ranked;
+    }
+
+    private static Map<LeaderboardWindow, List<LeaderboardEntryDTO>> toEntries(
+            Map<LeaderboardWindow, List<Candidate>> ranked, Map<Long, BookCatalog> books) {
+        Map<LeaderboardWindow, List<LeaderboardEntryDTO>> entries = new EnumMap<>(LeaderboardWindow.class);
+        ranked.forEach((window, candidates) -> {
+            List<LeaderboardEntryDTO> list = new ArrayList<>();
+            for (Candidate c : candidates) {
+                BookCatalog book = books.get(c.bookId());
+                // Skip books deleted since their reviews were counted
+                if (book != null) {
+                    list.add(new LeaderboardEntryDTO(c.bookId(), book.getTitle(), book.getAuthor(),
+                            book.getCoverUrl(), c.reviewCount(), c.averageRating(), c.score()));
+                }
+            }
+            entries.put(window, List.copyOf(list));
+        });
+        return entries;
+    }
+
+    private record ReviewChange(long bookId, int rating, LocalDate createdAt, int delta) {
+    }
+
+    private record Candidate(long bookId, long reviewCount, double averageRating, double score) {
+    }
+
+    private record Snapshot(Map<LeaderboardWindow, List<LeaderboardEntryDTO>> topRated,
+                            Map<LeaderboardWindow, List<LeaderboardEntryDTO>> mostReviewed) {
+    }
+}
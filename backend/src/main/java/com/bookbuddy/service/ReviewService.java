@@ -1,11 +1,25 @@
 package com.bookbuddy.service;
 
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.RatingSummaryDTO;
+import com.bookbuddy.dto.ReviewResponse;
+import com.bookbuddy.model.BookRatingAggregate;
 import com.bookbuddy.model.Review;
+import com.bookbuddy.repository.BookRatingAggregateRepository;
 import com.bookbuddy.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -20,20 +34,31 @@ import java.util.Optional;
  * 2. retrieve reviews by book or bookID
  * 3. Delete Reviews
  * 4. Calculate average book ratings
- * 
+ *
+ * Averages and star histograms are read from {@link BookRatingAggregate}
+ * rows, which are updated in the same transaction as every review write.
+ * The leaderboards are only updated once a write has committed.
  */
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final BookRatingAggregateRepository ratingAggregateRepository;
+    private final ReviewLeaderboard reviewLeaderboard;
 
     /**
-     * Constructor injection for the ReviewRepository dependency.
+     * Constructor injection for the repository dependencies.
      * 
-     * @param reviewRepository repository instance injected by Spring
+     * @param reviewRepository          repository instance injected by Spring
+     * @param ratingAggregateRepository per-book rating totals
+     * @param reviewLeaderboard         in-memory leaderboards kept up to date on every write
      */
     @Autowired
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository,
+                         BookRatingAggregateRepository ratingAggregateRepository,
+                         ReviewLeaderboard reviewLeaderboard) {
         this.reviewRepository = reviewRepository;
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.reviewLeaderboard = reviewLeaderboard;
     }
 
     /**
@@ -41,9 +66,45 @@ public class ReviewService {
      * 
      * @param review the {@link Review} entity to be saved or updated
      * @return the saved {@link Review} entity
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the
+     *         review was changed by another request since it was loaded
      */
+    @Transactional
     public Review saveReview(Review review) {
-        return reviewRepository.save(review);
+        Long previousBookId = null;
+        Integer previousRating = null;
+        LocalDate createdAt = review.getCreatedAt();
+        if (review.getId() != 0) {
+            previousBookId = review.getPersistedBookId();
+            previousRating = review.getPersistedRating();
+            if (previousRating == null) {
+                // Detached instance: read the stored state before overwriting it
+                Optional<Review> stored = reviewRepository.findById(review.getId());
+                if (stored.isPresent()) {
+                    previousBookId = stored.get().getBook().getId();
+                    previousRating = stored.get().getRating();
+                    createdAt = stored.get().getCreatedAt();
+                }
+            }
+        }
+
+        Review saved = reviewRepository.save(review);
+
+        long bookId = saved.getBook().getId();
+        int rating = saved.getRating();
+        LocalDate reviewDate = createdAt;
+        if (previousRating != null && Objects.equals(previousBookId, bookId) && previousRating == rating) {
+            return saved;
+        }
+        if (previousRating != null) {
+            long oldBookId = previousBookId;
+            int oldRating = previousRating;
+            ratingAggregateRepository.applyRating(oldBookId, oldRating, -1);
+            AfterCommit.run(() -> reviewLeaderboard.reviewRemoved(oldBookId, oldRating, reviewDate));
+        }
+        ratingAggregateRepository.applyRating(bookId, rating, 1);
+        AfterCommit.run(() -> reviewLeaderboard.reviewAdded(bookId, rating, reviewDate));
+        return saved;
     }
 
     /**
@@ -70,8 +131,17 @@ public class ReviewService {
      * 
      * @param id the unique ID of the review to be deleted
      */
+    @Transactional
     public void deleteReview(Long id) {
+        Optional<Review> review = reviewRepository.findById(id);
+        if (review.isEmpty()) {
+            return;
+        }
+        Review deleted = review.get();
         reviewRepository.deleteById(id);
+        ratingAggregateRepository.applyRating(deleted.getBook().getId(), deleted.getRating(), -1);
+        AfterCommit.run(() -> reviewLeaderboard.reviewRemoved(
+                deleted.getBook().getId(), deleted.getRating(), deleted.getCreatedAt()));
     }
 
     /**
@@ -81,10 +151,74 @@ public class ReviewService {
      *               reviewed
      * @return list of {@link Review} entities linked to the specified catalog book
      */
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByBookId(Long bookId) {
         return reviewRepository.findByBookId(bookId);
     }
 
+    /**
+     * Returns one page of a book's reviews using keyset pagination.
+     *
+     * @param bookId the ID of the {@link com.bookbuddy.model.BookCatalog}
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @param size   maximum number of reviews on the page
+     * @param sort   newest first or highest rating first
+     * @return the page of reviews
+     * @throws IllegalArgumentException if the cursor is invalid or belongs to another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewResponse> getBookReviewsPage(Long bookId, String cursor, int size, ReviewSort sort) {
+        ReviewCursor before = decodeCursor(cursor, sort);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<ReviewResponse> reviews = sort == ReviewSort.RATING
+                ? reviewRepository.findBookPageByRating(bookId, before.lastRating(), before.lastId(), limit)
+                : reviewRepository.findBookPageNewest(bookId, before.lastId(), limit);
+        return toPage(reviews, size, sort);
+    }
+
+    /**
+     * Returns one page of a user's reviews using keyset pagination.
+     *
+     * @param userId the ID of the {@link com.bookbuddy.model.User}
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @param size   maximum number of reviews on the page
+     * @param sort   newest first or highest rating first
+     * @return the page of reviews
+     * @throws IllegalArgumentException if the cursor is invalid or belongs to another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewResponse> getUserReviewsPage(Long userId, String cursor, int size, ReviewSort sort) {
+        ReviewCursor before = decodeCursor(cursor, sort);
+        Limit limit = Limit.of(size + 1);
+        List<ReviewResponse> reviews = sort == ReviewSort.RATING
+                ? reviewRepository.findUserPageByRating(userId, before.lastRating(), before.lastId(), limit)
+                : reviewRepository.findUserPageNewest(userId, before.lastId(), limit);
+        return toPage(reviews, size, sort);
+    }
+
+    private static ReviewCursor decodeCursor(String cursor, ReviewSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ReviewCursor.start(sort);
+        }
+        ReviewCursor decoded = ReviewCursor.decode(cursor);
+        if (decoded.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was created for sort " + decoded.sort().name().toLowerCase());
+        }
+        return decoded;
+    }
+
+    private static CursorPageDTO<ReviewResponse> toPage(List<ReviewResponse> reviews, int size, ReviewSort sort) {
+        if (reviews.size() <= size) {
+            return new CursorPageDTO<>(reviews, null);
+        }
+
+        List<ReviewResponse> page = new ArrayList<>(reviews.subList(0, size));
+        ReviewResponse last = page.get(size - 1);
+        String nextCursor = new ReviewCursor(sort, last.getId(), last.getRating()).encode();
+        return new CursorPageDTO<>(page, nextCursor);
+    }
+
     /**
      * Calculates the average rating for a given catalog book.
      * 
@@ -93,18 +227,71 @@ public class ReviewService {
      * @return the average rating value as a double (0.0 if no reviews exist)
      */
     public double getAverageRating(Long bookId) {
-        List<Review> reviews = reviewRepository.findByBookId(bookId);
+        return ratingAggregateRepository.findById(bookId)
+                .map(BookRatingAggregate::getAverageRating)
+                .orElse(0.0);
+    }
+
+    /**
+     * Returns the review count, average rating and star histogram of a book.
+     *
+     * @param bookId the ID of the {@link com.bookbuddy.model.BookCatalog}
+     * @return the summary (all zero if the book has no reviews)
+     */
+    public RatingSummaryDTO getRatingSummary(Long bookId) {
+        return toSummary(bookId, ratingAggregateRepository.findById(bookId).orElse(null));
+    }
 
-        if (reviews.isEmpty()) {
-            return 0.0;
+    private static RatingSummaryDTO toSummary(Long bookId, BookRatingAggregate aggregate) {
+        if (aggregate == null) {
+            aggregate = new BookRatingAggregate(bookId, 0, 0);
         }
 
-        double total = 0;
-        for (Review review : reviews) {
-            total += review.getRating();
+        Map<Integer, Long> starCounts = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            starCounts.put(stars, aggregate.getStarCount(stars));
         }
 
-        return total / reviews.size();
+        return new RatingSummaryDTO(bookId, aggregate.getReviewCount(), aggregate.getAverageRating(), starCounts);
+    }
+
+    /**
+     * Returns the rating summaries of many books with one query.
+     *
+     * @param bookIds IDs of the {@link com.bookbuddy.model.BookCatalog} entries;
+     *                duplicates are ignored
+     * @return one summary per distinct ID, in request order (all zero for
+     *         books without reviews)
+     */
+    public List<RatingSummaryDTO> getRatingSummaries(List<Long> bookIds) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(bookIds);
+
+        Map<Long, BookRatingAggregate> aggregates = new HashMap<>();
+        for (BookRatingAggregate aggregate : ratingAggregateRepository.findByBookIdIn(ids)) {
+            aggregates.put(aggregate.getBookId(), aggregate);
+        }
+
+        List<RatingSummaryDTO> summaries = new ArrayList<>();
+        for (Long bookId : ids) {
+            summaries.add(toSummary(bookId, aggregates.get(bookId)));
+        }
+        return summaries;
+    }
+
+    /**
+     * Recomputes every {@link BookRatingAggregate} from the review table.
+     * Use this to repair aggregates after reviews were changed outside
+     * this service (e.g. by hand in the database). The leaderboards are
+     * reloaded from the new aggregates once they are committed.
+     *
+     * @return number of books that have reviews
+     */
+    @Transactional
+    public int rebuildRatingAggregates() {
+        ratingAggregateRepository.deleteAllAggregates();
+        int books = ratingAggregateRepository.insertFromReviews();
+        AfterCommit.run(reviewLeaderboard::rebuild);
+        return books;
     }
 
     /**
@@ -114,6 +301,7 @@ public class ReviewService {
      *               reviews
      * @return list of {@link Review} entities authored by the specified user
      */
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByUserId(Long userId) {
         return reviewRepository.findByUserId(userId);
     }
@@ -0,0 +1,12 @@
+package com.bookbuddy.service;
+
+/**
+ * Sort orders supported by the paginated review listings.
+ * Both are total orders (ties broken by ID), which keyset pagination needs.
+ */
+public enum ReviewSort {
+    /** Most recently written reviews first. */
+    NEWEST,
+    /** Highest rating first, newest first within a rating. */
+    RATING
+}
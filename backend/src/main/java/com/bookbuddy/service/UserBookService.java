@@ -1,12 +1,31 @@
 package com.bookbuddy.service;
 
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.LibraryBookDTO;
+import com.bookbuddy.dto.LibrarySummaryDTO;
+import com.bookbuddy.model.Genre;
+import com.bookbuddy.model.ShelfStatus;
 import com.bookbuddy.model.UserBook;
 import com.bookbuddy.repository.UserBookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Service layer for managing {@link UserBook} entities.
@@ -23,20 +42,49 @@ import java.util.Optional;
  *  3. Delete books from a user’s library
  *  4. Retrieve all books owned by a specific user
  *  5. Retrieve all users who own a specific book
- * 
+ *  6. Summarize shelf counts per user
+ *  7. Page through a user's library with keyset cursors
+ *
+ * Shelf summaries are cached per user and evicted whenever one of the
+ * user's books is saved or deleted through this service. Each such change
+ * also bumps a per-user version, and a summary is only cached if the
+ * version did not change while it was being counted, so a count that
+ * started before a commit cannot be cached after that commit's eviction.
  */
 @Service
 public class UserBookService {
 
+    // Start keys for the date orders (dates are stored as epoch milliseconds)
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1, 1, 1);
+
     private final UserBookRepository userBookRepository;
+    private final CatalogSuggestIndex catalogSuggestIndex;
+    private final Cache<Long, LibrarySummaryDTO> summaryCache;
+    // userId -> number of committed library changes; guards summaryCache puts
+    private final ConcurrentMap<Long, Long> summaryVersions = new ConcurrentHashMap<>();
 
     /**
      * Constructor injection for the UserBookRepository dependency.
      * @param userBookRepository repository instance injected by Spring
+     * @param catalogSuggestIndex suggestion index whose popularity counts follow library changes
+     * @param summaryCacheTtl     upper bound on how long a shelf summary stays cached
+     * @param summaryCacheMaxSize maximum number of users whose summaries are cached
      */
     @Autowired
-    public UserBookService(UserBookRepository userBookRepository) {
+    public UserBookService(
+            UserBookRepository userBookRepository,
+            CatalogSuggestIndex catalogSuggestIndex,
+            @Value("${bookbuddy.library.summary-cache.ttl:10m}") Duration summaryCacheTtl,
+            @Value("${bookbuddy.library.summary-cache.max-size:10000}") long summaryCacheMaxSize) {
         this.userBookRepository = userBookRepository;
+        this.catalogSuggestIndex = catalogSuggestIndex;
+        this.summaryCache = Caffeine.newBuilder()
+                .maximumSize(summaryCacheMaxSize)
+                // Eviction on writes keeps entries current; the TTL only bounds
+                // staleness from changes made outside this service
+                .expireAfterWrite(summaryCacheTtl)
+                .build();
     }
 
     /**
@@ -44,8 +92,16 @@ public class UserBookService {
      * @param userBook the userBook entity to be saved or updated
      * @return the saved {@link UserBook} entity
      */
+    @Transactional
     public UserBook saveUserBook(UserBook userBook) {
-        return userBookRepository.save(userBook);
+        boolean isNew = userBook.getId() == null;
+        UserBook saved = userBookRepository.save(userBook);
+        if (isNew && saved.getBook() != null) {
+            long bookId = saved.getBook().getId();
+            AfterCommit.run(() -> catalogSuggestIndex.adjustPopularity(bookId, 1));
+        }
+        evictSummary(saved);
+        return saved;
     }
 
     /**
@@ -69,8 +125,15 @@ public class UserBookService {
      * Deletes a {@link UserBook} record by its ID.
      * @param id the unique ID of the record to be deleted
      */
+    @Transactional
     public void deleteUserBook(Long id) {
+        Optional<UserBook> existing = userBookRepository.findById(id);
         userBookRepository.deleteById(id);
+        existing.map(UserBook::getBook).ifPresent(book -> {
+            long bookId = book.getId();
+            AfterCommit.run(() -> catalogSuggestIndex.adjustPopularity(bookId, -1));
+        });
+        existing.ifPresent(this::evictSummary);
     }
 
     /**
@@ -78,6 +141,7 @@ public class UserBookService {
      * @param userId the ID of the user
      * @return list of {@link UserBook} entries owned by that user
      */
+    @Transactional(readOnly = true)
     public List<UserBook> getBooksByUserId(Long userId) {
         return userBookRepository.findByUserId(userId);
     }
@@ -87,7 +151,106 @@ public class UserBookService {
      * @param bookId the ID of the book
      * @return list of {@link UserBook} entries that reference this book
      */
+    @Transactional(readOnly = true)
     public List<UserBook> getUsersByBookId(Long bookId) {
         return userBookRepository.findByBookId(bookId);
     }
+
+    /**
+     * Returns how many books a user has on each shelf, from one grouped
+     * query that is cached until the user's library changes.
+     * @param userId the ID of the user
+     * @return total and per-shelf counts (every {@link ShelfStatus} is present)
+     */
+    @Transactional(readOnly = true)
+    public LibrarySummaryDTO getLibrarySummary(Long userId) {
+        LibrarySummaryDTO cached = summaryCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Long version = summaryVersions.get(userId);
+        Map<ShelfStatus, Long> counts = new EnumMap<>(ShelfStatus.class);
+        for (ShelfStatus shelf : ShelfStatus.values()) {
+            counts.put(shelf, 0L);
+        }
+        long total = 0;
+        for (Object[] row : userBookRepository.countShelvesForUser(userId)) {
+            counts.put((ShelfStatus) row[0], (Long) row[1]);
+            total += (Long) row[1];
+        }
+        LibrarySummaryDTO summary = new LibrarySummaryDTO(userId, total, counts);
+
+        // Checked and stored atomically with respect to evictSummary's version bump
+        summaryVersions.compute(userId, (id, current) -> {
+            if (Objects.equals(current, version)) {
+                summaryCache.put(id, summary);
+            }
+            return current;
+        });
+        return summary;
+    }
+
+    /**
+     * Returns one page of a user's library as flat DTOs, read with a single
+     * join query.
+     * @param userId the ID of the user
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @param size   maximum number of books on the page
+     * @param sort   recent, oldest or title order
+     * @param shelf  optional shelf filter
+     * @param genre  optional genre filter
+     * @return the page of library books
+     * @throws IllegalArgumentException if the cursor is invalid or belongs to another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LibraryBookDTO> getLibraryPage(Long userId, String cursor, int size, LibrarySort sort,
+                                                        ShelfStatus shelf, Genre genre) {
+        LibraryCursor after = cursor != null && !cursor.isBlank() ? LibraryCursor.decode(cursor) : null;
+        if (after != null && after.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was created for sort " + after.sort().name().toLowerCase());
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<LibraryBookDTO> books = switch (sort) {
+            case RECENT -> userBookRepository.findLibraryPageRecent(userId,
+                    after != null ? parseDate(after.lastKey()) : LATEST_DATE,
+                    after != null ? after.lastId() : Long.MAX_VALUE, shelf, genre, limit);
+            case OLDEST -> userBookRepository.findLibraryPageOldest(userId,
+                    after != null ? parseDate(after.lastKey()) : EARLIEST_DATE,
+                    after != null ? after.lastId() : 0, shelf, genre, limit);
+            case TITLE -> userBookRepository.findLibraryPageByTitle(userId,
+                    after != null ? after.lastKey() : "",
+                    after != null ? after.lastId() : 0, shelf, genre, limit);
+        };
+
+        if (books.size() <= size) {
+            return new CursorPageDTO<>(books, null);
+        }
+
+        List<LibraryBookDTO> page = new ArrayList<>(books.subList(0, size));
+        LibraryBookDTO last = page.get(size - 1);
+        String lastKey = sort == LibrarySort.TITLE ? last.getTitle() : last.getCreatedAt().toString();
+        return new CursorPageDTO<>(page, new LibraryCursor(sort, last.getId(), lastKey).encode());
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // After the commit; the version bump stops counts read before it from being cached
+    private void evictSummary(UserBook userBook) {
+        if (userBook.getUser() != null) {
+            long userId = userBook.getUser().getId();
+            AfterCommit.run(() -> {
+                summaryVersions.merge(userId, 1L, Long::sum);
+                summaryCache.invalidate(userId);
+            });
+        }
+    }
 }
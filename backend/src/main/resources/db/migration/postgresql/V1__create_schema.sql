@@ -0,0 +1,103 @@
+-- BookBuddy schema for PostgreSQL (postgres profile). Hibernate only validates it
+-- (ddl-auto=validate), so every schema change needs a new V<n>__*.sql migration.
+-- Indexes match the @Index declarations on the entities plus the unique indexes
+-- that schema-sqlite.sql creates for SQLite.
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE book_catalog (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title           VARCHAR(255) NOT NULL,
+    author          VARCHAR(255) NOT NULL,
+    description     VARCHAR(2000),
+    cover_url       VARCHAR(255),
+    open_library_id VARCHAR(255),
+    genre           VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_book_catalog_open_library_id UNIQUE (open_library_id)
+);
+
+-- Keyset pagination by title and the genre/author filters
+CREATE INDEX idx_book_catalog_title_id ON book_catalog (title, id);
+CREATE INDEX idx_book_catalog_genre_id ON book_catalog (genre, id);
+CREATE INDEX idx_book_catalog_author_id ON book_catalog (author, id);
+
+-- Deleting a user or a catalog book removes the rows that point at it
+CREATE TABLE user_book (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    book_id      BIGINT       NOT NULL REFERENCES book_catalog (id) ON DELETE CASCADE,
+    shelf        VARCHAR(255) NOT NULL,
+    completed_at DATE,
+    created_at   DATE
+);
+
+-- Per-shelf counts and shelf-filtered library pages
+CREATE INDEX idx_user_book_user_shelf ON user_book (user_id, shelf);
+-- Library pages ordered by date added
+CREATE INDEX idx_user_book_user_created ON user_book (user_id, created_at, id);
+-- Readers of a book and the per-book popularity counts
+CREATE INDEX idx_user_book_book_id ON user_book (book_id);
+
+CREATE TABLE review (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    book_id     BIGINT  NOT NULL REFERENCES book_catalog (id) ON DELETE CASCADE,
+    user_id     BIGINT  NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    review_text VARCHAR(255),
+    rating      INTEGER NOT NULL,
+    created_at  DATE
+);
+
+-- Keyset pages per book and per user, newest first or by rating
+CREATE INDEX idx_review_book_id ON review (book_id, id);
+CREATE INDEX idx_review_book_rating_id ON review (book_id, rating, id);
+CREATE INDEX idx_review_user_id ON review (user_id, id);
+CREATE INDEX idx_review_user_rating_id ON review (user_id, rating, id);
+-- Loading the current month's ratings for the leaderboards
+CREATE INDEX idx_review_created_at ON review (created_at);
+
+-- Only changed through the upsert in BookRatingAggregateRepository
+CREATE TABLE book_rating_aggregate (
+    book_id      BIGINT PRIMARY KEY,
+    review_count BIGINT NOT NULL,
+    rating_sum   BIGINT NOT NULL,
+    one_star     BIGINT NOT NULL,
+    two_star     BIGINT NOT NULL,
+    three_star   BIGINT NOT NULL,
+    four_star    BIGINT NOT NULL,
+    five_star    BIGINT NOT NULL
+);
+
+CREATE TABLE monthly_trackers (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    month            VARCHAR(255) NOT NULL,
+    year             VARCHAR(255) NOT NULL,
+    target_books_num INTEGER      NOT NULL
+);
+
+-- One tracker per user and month; also serves lookups by user
+CREATE UNIQUE INDEX uk_monthly_trackers_user_month_year ON monthly_trackers (user_id, month, year);
+
+CREATE TABLE monthly_tracker_books (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    monthly_tracker_id BIGINT  NOT NULL REFERENCES monthly_trackers (id) ON DELETE CASCADE,
+    user_book_id       BIGINT  NOT NULL REFERENCES user_book (id) ON DELETE CASCADE,
+    is_completed       BOOLEAN NOT NULL
+);
+
+-- A user book can be in a tracker only once
+CREATE UNIQUE INDEX uk_monthly_tracker_books_tracker_user_book
+    ON monthly_tracker_books (monthly_tracker_id, user_book_id);
+-- Covers the per-tracker COUNT/SUM progress query
+CREATE INDEX idx_monthly_tracker_books_tracker_completed ON monthly_tracker_books (monthly_tracker_id, is_completed);
+-- Removing a library entry from the trackers it is in
+CREATE INDEX idx_monthly_tracker_books_user_book_id ON monthly_tracker_books (user_book_id);
@@ -0,0 +1,2 @@
+-- Optimistic locking for review edits (Review.version)
+ALTER TABLE review ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Catalog title copied onto library entries so title-ordered library pages (UserBook.bookTitle)
+-- can be read from an index instead of sorting the joined rows
+ALTER TABLE user_book ADD COLUMN book_title VARCHAR(255);
+UPDATE user_book ub SET book_title = b.title FROM book_catalog b WHERE b.id = ub.book_id;
+CREATE INDEX idx_user_book_user_title ON user_book (user_id, book_title, id);
@@ -0,0 +1,68 @@
+-- Runs after Hibernate has created/updated the tables (see spring.jpa.defer-datasource-initialization).
+-- Hibernate cannot add unique constraints to existing SQLite tables, so they are created here.
+
+-- The old check-then-insert code could create two trackers for the same user and month,
+-- which would make the unique index below fail. Merge them into the oldest tracker:
+-- drop books the oldest tracker (or an older duplicate) already has, move the rest,
+-- then delete the duplicate trackers. Each statement is skipped once the index exists,
+-- so the merge runs on the first start after upgrading and never again.
+DELETE FROM monthly_tracker_books
+WHERE NOT EXISTS (SELECT 1 FROM sqlite_master
+                  WHERE type = 'index' AND name = 'uk_monthly_trackers_user_month_year')
+  AND id IN (
+    SELECT b.id FROM monthly_tracker_books b
+    JOIN monthly_trackers t ON t.id = b.monthly_tracker_id
+    WHERE EXISTS (
+        SELECT 1 FROM monthly_tracker_books b2
+        JOIN monthly_trackers t2 ON t2.id = b2.monthly_tracker_id
+        WHERE b2.user_book_id = b.user_book_id
+          AND t2.user_id = t.user_id AND t2.month = t.month AND t2.year = t.year
+          AND t2.id < t.id));
+
+UPDATE monthly_tracker_books
+SET monthly_tracker_id = (
+    SELECT MIN(k.id) FROM monthly_trackers k
+    JOIN monthly_trackers t ON k.user_id = t.user_id AND k.month = t.month AND k.year = t.year
+    WHERE t.id = monthly_tracker_books.monthly_tracker_id)
+WHERE NOT EXISTS (SELECT 1 FROM sqlite_master
+                  WHERE type = 'index' AND name = 'uk_monthly_trackers_user_month_year')
+  AND monthly_tracker_id IN (SELECT id FROM monthly_trackers)
+  AND monthly_tracker_id NOT IN (SELECT MIN(id) FROM monthly_trackers GROUP BY user_id, month, year);
+
+DELETE FROM monthly_trackers
+WHERE NOT EXISTS (SELECT 1 FROM sqlite_master
+                  WHERE type = 'index' AND name = 'uk_monthly_trackers_user_month_year')
+  AND id NOT IN (SELECT MIN(id) FROM monthly_trackers GROUP BY user_id, month, year);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_monthly_trackers_user_month_year
+    ON monthly_trackers (user_id, month, year);
+
+-- Same book added to a tracker twice before the index existed: keep the first row.
+-- Like the tracker merge, skipped once the index exists.
+DELETE FROM monthly_tracker_books
+WHERE NOT EXISTS (SELECT 1 FROM sqlite_master
+                  WHERE type = 'index' AND name = 'uk_monthly_tracker_books_tracker_user_book')
+  AND id NOT IN (SELECT MIN(id) FROM monthly_tracker_books GROUP BY monthly_tracker_id, user_book_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_monthly_tracker_books_tracker_user_book
+    ON monthly_tracker_books (monthly_tracker_id, user_book_id);
+
+-- Fill the rating aggregates from existing reviews the first time the table is created.
+-- Later drift is repaired by starting once with --bookbuddy.reviews.rebuild-aggregates=true.
+INSERT INTO book_rating_aggregate
+    (book_id, review_count, rating_sum, one_star, two_star, three_star, four_star, five_star)
+SELECT book_id, COUNT(*), SUM(rating),
+       SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END)
+FROM review
+WHERE NOT EXISTS (SELECT 1 FROM book_rating_aggregate)
+GROUP BY book_id;
+
+-- Copy catalog titles onto library entries saved before user_book.book_title existed
+-- (library pages are ordered by it). Every save sets the title, so this is skipped
+-- once any entry has one.
+UPDATE user_book
+SET book_title = (SELECT title FROM book_catalog WHERE book_catalog.id = user_book.book_id)
+WHERE book_title IS NULL
+  AND NOT EXISTS (SELECT 1 FROM user_book WHERE book_title IS NOT NULL);
@@ -0,0 +1,73 @@
+package com.bookbuddy.controller;
+
+import com.bookbuddy.dto.OpenLibrarySearchResponse;
+import com.bookbuddy.dto.SearchResponseDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.service.BookCatalogService;
+import com.bookbuddy.service.CatalogSearchIndex;
+import com.bookbuddy.service.OpenLibraryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for choosing between the local catalog and Open Library in BookCatalogController.
+ */
+class BookCatalogControllerTest {
+
+    private BookCatalogController controller;
+    private OpenLibraryService openLibraryService;
+
+    @BeforeEach
+    void setUp() {
+        CatalogSearchIndex index = new CatalogSearchIndex(mock(BookCatalogRepository.class));
+        index.add(book(1, "Dune", "Frank Herbert"));
+
+        BookCatalogService bookCatalogService = mock(BookCatalogService.class);
+        when(bookCatalogService.searchCatalog(anyString(), anyInt()))
+                .thenAnswer(call -> index.search(call.getArgument(0), call.getArgument(1)));
+
+        openLibraryService = mock(OpenLibraryService.class);
+        OpenLibrarySearchResponse upstream = new OpenLibrarySearchResponse();
+        upstream.setNumFound(1);
+        upstream.setDocs(List.of());
+        when(openLibraryService.searchBooks(anyString(), anyInt(), anyInt())).thenReturn(upstream);
+
+        controller = new BookCatalogController(bookCatalogService, openLibraryService, Runnable::run, 20, 100);
+    }
+
+    // Utility to assign IDs (simulates database behavior)
+    private BookCatalog book(long id, String title, String author) {
+        BookCatalog book = new BookCatalog(title, author);
+        try {
+            Field f = BookCatalog.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(book, id);
+        } catch (Exception ignored) {}
+        return book;
+    }
+
+    @Test
+    void testFullCatalogMatchIsServedLocally() {
+        SearchResponseDTO response = controller.searchBooks("dune herbert", 10).join().getBody();
+
+        assertEquals(SearchResponseDTO.SOURCE_CATALOG, response.getSource());
+        assertEquals("Dune", response.getBooks().get(0).getTitle());
+        verifyNoInteractions(openLibraryService);
+    }
+
+    @Test
+    void testPartialCatalogMatchFallsBackToOpenLibrary() {
+        // "Dune" matches, "messiah" does not: the catalog does not have this book
+        SearchResponseDTO response = controller.searchBooks("dune messiah", 10).join().getBody();
+
+        assertEquals(SearchResponseDTO.SOURCE_OPEN_LIBRARY, response.getSource());
+        verify(openLibraryService).searchBooks("dune messiah", 10, 1);
+    }
+}
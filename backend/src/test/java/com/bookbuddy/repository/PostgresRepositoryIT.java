@@ -0,0 +1,266 @@
+package com.bookbuddy.repository;
+
+import com.bookbuddy.dto.CatalogIndexEntryDTO;
+import com.bookbuddy.dto.LibraryBookDTO;
+import com.bookbuddy.dto.ReviewResponse;
+import com.bookbuddy.dto.TrackerProgressDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.model.BookRatingAggregate;
+import com.bookbuddy.model.Genre;
+import com.bookbuddy.model.MonthlyTracker;
+import com.bookbuddy.model.MonthlyTrackerBook;
+import com.bookbuddy.model.Months;
+import com.bookbuddy.model.Review;
+import com.bookbuddy.model.ShelfStatus;
+import com.bookbuddy.model.User;
+import com.bookbuddy.model.UserBook;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repositories against a local PostgreSQL binary (no network or
+ * external server) with the schema created by the Flyway migrations, as in
+ * the postgres profile. Part of {@code mvn verify}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+class PostgresRepositoryIT {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookCatalogRepository bookCatalogRepository;
+
+    @Autowired
+    private UserBookRepository userBookRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private BookRatingAggregateRepository aggregateRepository;
+
+    @Autowired
+    private MonthlyTrackerRepository trackerRepository;
+
+    @Autowired
+    private MonthlyTrackerBookRepository trackerBookRepository;
+
+    private User user;
+    private BookCatalog dune;
+    private BookCatalog emma;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Ada", "Reader", "ada", "ada@example.com", "Secret123"));
+        dune = entityManager.persist(book("Dune", "Frank Herbert", "OL1W", Genre.SCIENCE_FICTION));
+        emma = entityManager.persist(book("Emma", "Jane Austen", "OL2W", Genre.ROMANCE));
+    }
+
+    private static BookCatalog book(String title, String author, String openLibraryId, Genre genre) {
+        BookCatalog book = new BookCatalog(title, author);
+        book.setOpenLibraryId(openLibraryId);
+        book.setGenre(genre);
+        return book;
+    }
+
+    @Test
+    void testMigrationsCreatedTheSchema() {
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE success", Integer.class);
+        assertTrue(applied >= 1);
+    }
+
+    @Test
+    void testCatalogPagesWithAndWithoutFilters() {
+        List<BookCatalog> byTitle = bookCatalogRepository.findPageOrderByTitle("", 0, null, null, Limit.of(10));
+        assertEquals(List.of("Dune", "Emma"), byTitle.stream().map(BookCatalog::getTitle).toList());
+
+        List<BookCatalog> romance = bookCatalogRepository.findPageOrderById(0, Genre.ROMANCE, null, Limit.of(10));
+        assertEquals(List.of(emma.getId()), romance.stream().map(BookCatalog::getId).toList());
+
+        List<BookCatalog> byAuthor = bookCatalogRepository.findPageOrderById(0, null, "Frank Herbert", Limit.of(10));
+        assertEquals(List.of(dune.getId()), byAuthor.stream().map(BookCatalog::getId).toList());
+
+        List<CatalogIndexEntryDTO> indexPage = bookCatalogRepository.findIndexEntryPage(dune.getId(), Limit.of(10));
+        assertEquals(List.of("Emma"), indexPage.stream().map(CatalogIndexEntryDTO::getTitle).toList());
+    }
+
+    @Test
+    void testInsertIgnoringExistingOnlyReturnsNewBooks() {
+        Set<String> inserted = bookCatalogRepository.insertIgnoringExisting(List.of(
+                book("Dune", "Frank Herbert", "OL1W", Genre.SCIENCE_FICTION),
+                book("Persuasion", "Jane Austen", "OL3W", Genre.ROMANCE)));
+
+        assertEquals(Set.of("OL3W"), inserted);
+        assertTrue(bookCatalogRepository.findByOpenLibraryId("OL3W").isPresent());
+    }
+
+    @Test
+    void testLibraryQueries() {
+        entityManager.persist(new UserBook(user, dune, ShelfStatus.READ));
+        entityManager.persist(new UserBook(user, emma, ShelfStatus.WANT_TO_READ));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UserBook> library = userBookRepository.findByUserId(user.getId());
+        assertEquals(2, library.size());
+        assertEquals(Set.of("Dune", "Emma"),
+                Set.copyOf(library.stream().map(userBook -> userBook.getBook().getTitle()).toList()));
+
+        List<Object[]> shelves = userBookRepository.countShelvesForUser(user.getId());
+        assertEquals(2, shelves.size());
+
+        List<LibraryBookDTO> read = userBookRepository.findLibraryPageByTitle(
+                user.getId(), "", 0, ShelfStatus.READ, null, Limit.of(10));
+        assertEquals(List.of("Dune"), read.stream().map(LibraryBookDTO::getTitle).toList());
+
+        List<LibraryBookDTO> recent = userBookRepository.findLibraryPageRecent(
+                user.getId(), LocalDate.now().plusDays(1), 0, null, null, Limit.of(10));
+        assertEquals(2, recent.size());
+    }
+
+    @Test
+    void testLibraryTitleOrderFollowsRenamedBook() {
+        entityManager.persist(new UserBook(user, dune, ShelfStatus.READ));
+        entityManager.persist(new UserBook(user, emma, ShelfStatus.READ));
+        entityManager.flush();
+
+        assertEquals(1, userBookRepository.updateBookTitle(dune.getId(), "Frank Herbert's Dune"));
+        entityManager.clear();
+
+        List<LibraryBookDTO> byTitle = userBookRepository.findLibraryPageByTitle(
+                user.getId(), "", 0, null, null, Limit.of(10));
+        assertEquals(List.of(emma.getId(), dune.getId()), byTitle.stream().map(LibraryBookDTO::getBookId).toList());
+    }
+
+    @Test
+    void testRatingAggregateUpsert() {
+        aggregateRepository.applyRating(dune.getId(), 5, 1);
+        aggregateRepository.applyRating(dune.getId(), 3, 1);
+        aggregateRepository.applyRating(dune.getId(), 5, -1);
+        entityManager.clear();
+
+        BookRatingAggregate aggregate = aggregateRepository.findById(dune.getId()).orElseThrow();
+        assertEquals(1, aggregate.getReviewCount());
+        assertEquals(3, aggregate.getRatingSum());
+        assertEquals(0, aggregate.getStarCount(5));
+        assertEquals(1, aggregate.getStarCount(3));
+    }
+
+    @Test
+    void testRebuildAggregatesAndReviewPages() {
+        User other = entityManager.persist(new User("Bo", "Reader", "bo", "bo@example.com", "Secret123"));
+        entityManager.persist(new Review(dune, user, 4));
+        entityManager.persist(new Review(dune, other, 2));
+        entityManager.flush();
+
+        aggregateRepository.deleteAllAggregates();
+        assertEquals(1, aggregateRepository.insertFromReviews());
+        entityManager.clear();
+        assertEquals(6, aggregateRepository.findById(dune.getId()).orElseThrow().getRatingSum());
+
+        List<ReviewResponse> byRating = reviewRepository.findBookPageByRating(
+                dune.getId(), Integer.MAX_VALUE, Long.MAX_VALUE, Limit.of(10));
+        assertEquals(List.of("ada", "bo"), byRating.stream().map(ReviewResponse::getUsername).toList());
+
+        List<ReviewResponse> newest = reviewRepository.findUserPageNewest(other.getId(), Long.MAX_VALUE, Limit.of(10));
+        assertEquals(1, newest.size());
+        assertEquals("Dune", newest.get(0).getBookTitle());
+    }
+
+    @Test
+    void testEditOfChangedReviewFailsVersionCheck() {
+        Review review = entityManager.persist(new Review(dune, user, 3));
+        entityManager.flush();
+        entityManager.clear();
+
+        Review loaded = reviewRepository.findById(review.getId()).orElseThrow();
+        // Another request edits the review after it was loaded
+        jdbcTemplate.update("UPDATE review SET rating = 5, version = version + 1 WHERE id = ?", review.getId());
+        loaded.setRating(4);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> reviewRepository.saveAndFlush(loaded));
+    }
+
+    @Test
+    void testTrackerProgressAndDuplicateBook() {
+        UserBook read = entityManager.persist(new UserBook(user, dune, ShelfStatus.READ));
+        MonthlyTracker tracker = entityManager.persist(new MonthlyTracker(user, Months.MARCH));
+        MonthlyTrackerBook trackerBook = new MonthlyTrackerBook(tracker, read);
+        trackerBook.setCompleted(true);
+        entityManager.persist(trackerBook);
+        entityManager.flush();
+
+        TrackerProgressDTO progress = trackerRepository.findProgressById(tracker.getId()).orElseThrow();
+        assertEquals(1, progress.getTotalBooks());
+        assertEquals(1, progress.getCompletedBooks());
+        assertTrue(trackerBookRepository.existsByMonthlyTrackerIdAndUserBookId(tracker.getId(), read.getId()));
+
+        entityManager.clear();
+        MonthlyTracker withBooks = trackerRepository.findWithBooksById(tracker.getId()).orElseThrow();
+        assertEquals("Dune", withBooks.getGoalBooks().get(0).getUserBook().getBook().getTitle());
+        assertEquals(1, trackerRepository.findWithBooksByUserIdAndMonthAndYear(
+                user.getId(), Months.MARCH, tracker.getYear()).orElseThrow().getGoalBooks().size());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> trackerBookRepository.saveAndFlush(new MonthlyTrackerBook(tracker, read)));
+    }
+
+    @Test
+    void testDeletingUserRemovesTheirRows() {
+        UserBook read = entityManager.persist(new UserBook(user, dune, ShelfStatus.READ));
+        MonthlyTracker tracker = entityManager.persist(new MonthlyTracker(user, Months.MARCH));
+        entityManager.persist(new MonthlyTrackerBook(tracker, read));
+        entityManager.persist(new Review(dune, user, 4));
+        entityManager.flush();
+        entityManager.clear();
+
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+
+        assertTrue(userBookRepository.findByUserId(user.getId()).isEmpty());
+        assertTrue(reviewRepository.findByUserId(user.getId()).isEmpty());
+        assertTrue(trackerRepository.findByUserId(user.getId()).isEmpty());
+        assertTrue(trackerBookRepository.findByMonthlyTrackerId(tracker.getId()).isEmpty());
+    }
+}
@@ -4,20 +4,29 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CursorPageDTO;
 import com.bookbuddy.dto.OpenLibrarySearchResponse;
 import com.bookbuddy.model.BookCatalog;
 import com.bookbuddy.model.Genre;
 import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.UserBookRepository;
 import com.bookbuddy.service.BookCatalogService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +36,15 @@ class BookCatalogServiceTest {
     @Mock
     private BookCatalogRepository bookCatalogRepository;
 
+    @Mock
+    private UserBookRepository userBookRepository;
+
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Mock
+    private CatalogSuggestIndex catalogSuggestIndex;
+
     @Mock
     private OpenLibrarySearchResponse.OpenLibraryBook openLibraryBook;
 
@@ -47,6 +65,18 @@ class BookCatalogServiceTest {
 
         assertEquals("Dune", result.getTitle());
         verify(bookCatalogRepository).save(book);
+        verify(userBookRepository, never()).updateBookTitle(anyLong(), anyString());
+    }
+
+    @Test
+    void testSaveBookCopiesRenamedTitleToLibraries() {
+        BookCatalog book = new BookCatalog("Dune Messiah", "Frank Herbert");
+        book.setId(7);
+        when(bookCatalogRepository.save(book)).thenReturn(book);
+
+        bookCatalogService.saveBook(book);
+
+        verify(userBookRepository).updateBookTitle(7L, "Dune Messiah");
     }
 
     @Test
@@ -84,46 +114,123 @@ class BookCatalogServiceTest {
     }
 
     @Test
-    void testFindOrCreateReturnsExisting() {
-        String id = "/works/OL1234W";
+    void testSaveBookUpdatesSearchIndex() {
+        BookCatalog book = new BookCatalog("Dune", "Frank Herbert");
+        when(bookCatalogRepository.save(book)).thenReturn(book);
+
+        bookCatalogService.saveBook(book);
+
+        verify(catalogSearchIndex).add(book);
+        verify(catalogSuggestIndex).add(book);
+    }
+
+    @Test
+    void testDeleteBookRemovesFromSearchIndex() {
+        bookCatalogService.deleteBook(5L);
 
+        verify(catalogSearchIndex).remove(5L);
+        verify(catalogSuggestIndex).remove(5L);
+    }
+
+    @Test
+    void testFindOrCreateReturnsExisting() {
         BookCatalog existing = new BookCatalog("Dune", "Frank Herbert");
-        existing.setOpenLibraryId(id);
+        existing.setOpenLibraryId("OL1234W");
 
-        when(openLibraryBook.getKey()).thenReturn(id);
-        when(bookCatalogRepository.findByOpenLibraryId(id))
-                .thenReturn(Optional.of(existing));
+        when(openLibraryBook.getKey()).thenReturn("/works/OL1234W");
+        when(openLibraryBook.getTitle()).thenReturn("Dune");
+        when(bookCatalogRepository.insertIgnoringExisting(any())).thenReturn(Set.of());
+        when(bookCatalogRepository.findByOpenLibraryIdIn(any())).thenReturn(List.of(existing));
 
         BookCatalog result = bookCatalogService.findOrCreateFromOpenLibrary(openLibraryBook);
 
         assertEquals(existing, result);
         verify(bookCatalogRepository, never()).save(any());
+        verify(catalogSearchIndex, never()).add(any());
     }
 
     @Test
     void testFindOrCreateCreatesNewEntry() {
-        String id = "/works/OL5678W";
-
-        when(openLibraryBook.getKey()).thenReturn(id);
+        when(openLibraryBook.getKey()).thenReturn("/works/OL5678W");
         when(openLibraryBook.getTitle()).thenReturn("New Title");
         when(openLibraryBook.getFirstAuthor()).thenReturn("Author Name");
         when(openLibraryBook.getCoverUrl()).thenReturn("http://example.com/c.jpg");
 
-        when(bookCatalogRepository.findByOpenLibraryId(id)).thenReturn(Optional.empty());
-
-        BookCatalog saved = new BookCatalog("New Title", "Author Name");
-        saved.setOpenLibraryId(id);
-        saved.setCoverUrl("http://example.com/c.jpg");
-
-        when(bookCatalogRepository.save(any(BookCatalog.class))).thenReturn(saved);
+        when(bookCatalogRepository.insertIgnoringExisting(any())).thenAnswer(invocation -> {
+            Collection<BookCatalog> books = invocation.getArgument(0);
+            BookCatalog candidate = books.iterator().next();
+            when(bookCatalogRepository.findByOpenLibraryIdIn(any())).thenReturn(List.of(candidate));
+            return Set.of(candidate.getOpenLibraryId());
+        });
 
         BookCatalog result = bookCatalogService.findOrCreateFromOpenLibrary(openLibraryBook);
 
         assertEquals("New Title", result.getTitle());
         assertEquals("Author Name", result.getAuthor());
-        assertEquals(id, result.getOpenLibraryId());
+        assertEquals("OL5678W", result.getOpenLibraryId());
         assertEquals(Genre.OTHER, result.getGenre());
         assertEquals("http://example.com/c.jpg", result.getCoverUrl());
+        verify(catalogSearchIndex).add(result);
+        verify(catalogSuggestIndex).add(result);
+    }
+
+    @Test
+    void testAddSearchResultsDedupesAndKeepsOrder() {
+        BookCatalog second = bookWithId(2, "Second");
+        second.setOpenLibraryId("OL2W");
+        BookCatalog first = bookWithId(1, "First");
+        first.setOpenLibraryId("OL1W");
+
+        when(bookCatalogRepository.insertIgnoringExisting(any())).thenReturn(Set.of("OL2W"));
+        when(bookCatalogRepository.findByOpenLibraryIdIn(any())).thenReturn(List.of(first, second));
+
+        List<BookCatalog> result = bookCatalogService.addSearchResults(List.of(
+                new BookSearchResultDTO("/works/OL2W", "Second", null, null, null),
+                new BookSearchResultDTO("OL1W", "First", "Author", null, null),
+                new BookSearchResultDTO("OL2W", "Second again", "Author", null, null),
+                new BookSearchResultDTO("OL3W", " ", "Author", null, null)));
+
+        assertEquals(List.of(second, first), result);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<BookCatalog>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(bookCatalogRepository).insertIgnoringExisting(inserted.capture());
+        assertEquals(2, inserted.getValue().size());
+        assertEquals("Unknown Author", inserted.getValue().iterator().next().getAuthor());
+
+        // Only the newly inserted book is added to the indexes
+        verify(catalogSearchIndex).add(second);
+        verify(catalogSearchIndex, never()).add(first);
+    }
+
+    @Test
+    void testUpsertBooksUpdatesIndexesOnlyAfterCommit() {
+        BookCatalog book = bookWithId(1, "First");
+        book.setOpenLibraryId("OL1W");
+        when(bookCatalogRepository.insertIgnoringExisting(any())).thenReturn(Set.of("OL1W"));
+        when(bookCatalogRepository.findByOpenLibraryIdIn(any())).thenReturn(List.of(book));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookCatalogService.upsertBooks(List.of(book));
+            verify(catalogSearchIndex, never()).add(any());
+            verify(catalogSuggestIndex, never()).add(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(catalogSearchIndex).add(book);
+        verify(catalogSuggestIndex).add(book);
+    }
+
+    @Test
+    void testUpsertBooksWithoutOpenLibraryIdDoesNothing() {
+        BookCatalog book = new BookCatalog("Custom", "Someone");
+
+        assertTrue(bookCatalogService.upsertBooks(List.of(book)).isEmpty());
+        verify(bookCatalogRepository, never()).insertIgnoringExisting(any());
     }
 
     @Test
@@ -140,4 +247,56 @@ class BookCatalogServiceTest {
         assertEquals("Dune", result.get().getTitle());
         verify(bookCatalogRepository).findByOpenLibraryId("OLTEST1");
     }
+
+    private BookCatalog bookWithId(long id, String title) {
+        BookCatalog book = new BookCatalog(title, "Author");
+        try {
+            java.lang.reflect.Field f = BookCatalog.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(book, id);
+        } catch (Exception ignored) {}
+        return book;
+    }
+
+    @Test
+    void testGetBooksPageReturnsCursorWhenMoreRowsExist() {
+        when(bookCatalogRepository.findPageOrderById(eq(0L), isNull(), isNull(), any()))
+                .thenReturn(List.of(bookWithId(1, "A"), bookWithId(2, "B"), bookWithId(3, "C")));
+
+        CursorPageDTO<BookCatalog> page = bookCatalogService.getBooksPage(null, 2, CatalogSort.ID, null, " ");
+
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        verify(bookCatalogRepository).findPageOrderById(0L, null, null, Limit.of(3));
+
+        // The cursor resumes after the last returned book
+        when(bookCatalogRepository.findPageOrderById(eq(2L), isNull(), isNull(), any()))
+                .thenReturn(List.of(bookWithId(3, "C")));
+        CursorPageDTO<BookCatalog> next = bookCatalogService.getBooksPage(page.getNextCursor(), 2, CatalogSort.ID, null, null);
+
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetBooksPageByTitlePassesTitleAndFilters() {
+        when(bookCatalogRepository.findPageOrderByTitle(any(), anyLong(), any(), any(), any()))
+                .thenReturn(List.of(bookWithId(7, "Dune | Messiah"), bookWithId(3, "Emma")));
+
+        CursorPageDTO<BookCatalog> page = bookCatalogService.getBooksPage(null, 1, CatalogSort.TITLE, Genre.FICTION, "Author");
+        bookCatalogService.getBooksPage(page.getNextCursor(), 1, CatalogSort.TITLE, Genre.FICTION, "Author");
+
+        verify(bookCatalogRepository).findPageOrderByTitle("", 0L, Genre.FICTION, "Author", Limit.of(2));
+        verify(bookCatalogRepository).findPageOrderByTitle("Dune | Messiah", 7L, Genre.FICTION, "Author", Limit.of(2));
+    }
+
+    @Test
+    void testGetBooksPageRejectsInvalidOrMismatchedCursor() {
+        String titleCursor = new CatalogCursor(CatalogSort.TITLE, 5, "Dune").encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookCatalogService.getBooksPage("not-a-cursor", 10, CatalogSort.ID, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookCatalogService.getBooksPage(titleCursor, 10, CatalogSort.ID, null, null));
+    }
 }
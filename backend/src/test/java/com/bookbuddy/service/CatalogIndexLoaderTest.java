@@ -0,0 +1,32 @@
+package com.bookbuddy.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for building the catalog indexes at startup.
+ */
+class CatalogIndexLoaderTest {
+
+    @Test
+    void testLoadIndexesRebuildsBothIndexes() {
+        CatalogSearchIndex searchIndex = mock(CatalogSearchIndex.class);
+        CatalogSuggestIndex suggestIndex = mock(CatalogSuggestIndex.class);
+
+        new CatalogIndexLoader(searchIndex, suggestIndex, "").loadIndexes();
+
+        verify(searchIndex).rebuild();
+        verify(suggestIndex).rebuild();
+    }
+
+    @Test
+    void testLoadIndexesIsSkippedDuringWorksImport() {
+        CatalogSearchIndex searchIndex = mock(CatalogSearchIndex.class);
+        CatalogSuggestIndex suggestIndex = mock(CatalogSuggestIndex.class);
+
+        new CatalogIndexLoader(searchIndex, suggestIndex, "ol_dump_works.txt.gz").loadIndexes();
+
+        verifyNoInteractions(searchIndex, suggestIndex);
+    }
+}
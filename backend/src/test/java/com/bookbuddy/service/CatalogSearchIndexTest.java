@@ -0,0 +1,194 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CatalogIndexEntryDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.repository.BookCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory CatalogSearchIndex.
+ */
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+    private BookCatalogRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BookCatalogRepository.class);
+        index = new CatalogSearchIndex(repository);
+    }
+
+    // Utility to assign IDs (simulates database behavior)
+    private BookCatalog book(long id, String title, String author, String description) {
+        BookCatalog book = new BookCatalog(title, author);
+        book.setDescription(description);
+        try {
+            Field f = BookCatalog.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(book, id);
+        } catch (Exception ignored) {}
+        return book;
+    }
+
+    @Test
+    void testTokenizeNormalizesCaseAccentsAndStopWords() {
+        assertEquals(List.of("lord", "rings"), CatalogSearchIndex.tokenize("The Lord of the Rings"));
+        assertEquals(List.of("les", "miserables"), CatalogSearchIndex.tokenize("Les Misérables"));
+    }
+
+    @Test
+    void testSearchFindsExactTitleMatch() {
+        index.add(book(1, "Dune", "Frank Herbert", "Desert planet"));
+        index.add(book(2, "1984", "George Orwell", "Big brother"));
+
+        List<BookSearchResultDTO> results = index.search("dune", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Dune", results.get(0).getTitle());
+        assertEquals(1L, results.get(0).getCatalogId());
+    }
+
+    @Test
+    void testSearchMatchesPrefixes() {
+        index.add(book(1, "The Hobbit", "J.R.R. Tolkien", ""));
+
+        List<BookSearchResultDTO> results = index.search("hobb tolk", 10);
+
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void testSearchRequiresEveryQueryTerm() {
+        index.add(book(1, "Dune", "Frank Herbert", "Desert planet"));
+        index.add(book(2, "Dune Messiah", "Frank Herbert", ""));
+
+        List<BookSearchResultDTO> results = index.search("dune messiah", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Dune Messiah", results.get(0).getTitle());
+        assertTrue(index.search("dune children", 10).isEmpty());
+    }
+
+    @Test
+    void testTitleMatchRanksAboveDescriptionMatch() {
+        index.add(book(1, "A Study of Dragons", "Someone", "Mostly about knights"));
+        index.add(book(2, "Knights of Old", "Someone Else", "Features a dragon or two"));
+
+        List<BookSearchResultDTO> results = index.search("knights", 10);
+
+        assertEquals(2, results.size());
+        assertEquals("Knights of Old", results.get(0).getTitle());
+    }
+
+    @Test
+    void testSearchRespectsLimit() {
+        for (int i = 1; i <= 5; i++) {
+            index.add(book(i, "Fantasy Book " + i, "Author", ""));
+        }
+
+        assertEquals(3, index.search("fantasy", 3).size());
+    }
+
+    @Test
+    void testRemoveDropsBookFromResults() {
+        index.add(book(1, "Dune", "Frank Herbert", ""));
+        index.remove(1L);
+
+        assertTrue(index.search("dune", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testAddReplacesPreviousVersion() {
+        index.add(book(1, "Dune", "Frank Herbert", ""));
+        index.add(book(1, "Dune Messiah", "Frank Herbert", ""));
+
+        assertEquals(1, index.size());
+        assertEquals("Dune Messiah", index.search("messiah", 10).get(0).getTitle());
+    }
+
+    @Test
+    void testRebuildLoadsCatalogFromRepository() {
+        when(repository.findIndexEntryPage(eq(0L), any(Limit.class))).thenReturn(List.of(
+                CatalogIndexEntryDTO.fromBook(book(1, "Dune", "Frank Herbert", "")),
+                CatalogIndexEntryDTO.fromBook(book(2, "Emma", "Jane Austen", ""))));
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals("Emma", index.search("austen", 10).get(0).getTitle());
+    }
+
+    @Test
+    void testRebuildReadsCatalogInKeysetPages() {
+        List<CatalogIndexEntryDTO> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(new CatalogIndexEntryDTO(id, null, "Book " + id, "Author", null, null));
+        }
+        when(repository.findIndexEntryPage(eq(0L), any(Limit.class))).thenReturn(firstPage);
+        when(repository.findIndexEntryPage(eq(1000L), any(Limit.class))).thenReturn(List.of(
+                new CatalogIndexEntryDTO(1001L, null, "Dune", "Frank Herbert", null, "desert planet")));
+
+        index.rebuild();
+
+        assertEquals(1001, index.size());
+        assertEquals("Dune", index.search("desert", 10).get(0).getTitle());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void testRemoveDuringRebuildIsNotUndone() {
+        index.add(book(1, "Dune", "Frank Herbert", ""));
+        when(repository.findIndexEntryPage(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            // Deleted after the page was read, before the rebuilt index is swapped in
+            index.remove(1L);
+            return List.of(CatalogIndexEntryDTO.fromBook(book(1, "Dune", "Frank Herbert", "")));
+        });
+
+        index.rebuild();
+
+        assertEquals(0, index.size());
+        assertTrue(index.search("dune", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchKeepsOldIndexUntilRebuildCompletes() {
+        index.add(book(1, "Dune", "Frank Herbert", ""));
+        List<Integer> sizesDuringLoad = new ArrayList<>();
+        when(repository.findIndexEntryPage(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            sizesDuringLoad.add(index.search("dune", 10).size());
+            return List.of(CatalogIndexEntryDTO.fromBook(book(2, "Emma", "Jane Austen", "")));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(1), sizesDuringLoad);
+        assertEquals("Emma", index.search("emma", 10).get(0).getTitle());
+        assertTrue(index.search("dune", 10).isEmpty());
+    }
+
+    @Test
+    void testPrefixMatchesBeyondExpansionCapStillCount() {
+        // 60 completions of "zz" that sort before the one the wanted book uses
+        for (int i = 0; i < 60; i++) {
+            index.add(book(100 + i, "zza" + (char) ('a' + i / 26) + (char) ('a' + i % 26), "Author", ""));
+        }
+        index.add(book(1, "Zzz Dune", "Frank Herbert", ""));
+
+        List<BookSearchResultDTO> results = index.search("zz herbert", 10);
+
+        assertEquals(1, results.size());
+        assertEquals(1L, results.get(0).getCatalogId());
+    }
+}
@@ -0,0 +1,189 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.BookSearchResultDTO;
+import com.bookbuddy.dto.CatalogIndexEntryDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.UserBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CatalogSuggestIndex prefix trie.
+ */
+class CatalogSuggestIndexTest {
+
+    private CatalogSuggestIndex index;
+    private BookCatalogRepository bookCatalogRepository;
+    private UserBookRepository userBookRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookCatalogRepository = mock(BookCatalogRepository.class);
+        userBookRepository = mock(UserBookRepository.class);
+        index = new CatalogSuggestIndex(bookCatalogRepository, userBookRepository);
+    }
+
+    // Utility to assign IDs (simulates database behavior)
+    private BookCatalog book(long id, String title, String author) {
+        BookCatalog book = new BookCatalog(title, author);
+        try {
+            Field f = BookCatalog.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(book, id);
+        } catch (Exception ignored) {}
+        return book;
+    }
+
+    private List<String> titles(List<BookSearchResultDTO> results) {
+        return results.stream().map(BookSearchResultDTO::getTitle).toList();
+    }
+
+    @Test
+    void testSuggestMatchesTitleAndAuthorPrefixes() {
+        index.add(book(1, "Dune", "Frank Herbert"));
+        index.add(book(2, "Frankenstein", "Mary Shelley"));
+
+        assertEquals(List.of("Dune"), titles(index.suggest("du", 10)));
+        assertEquals(List.of("Dune", "Frankenstein"), titles(index.suggest("Fran", 10)));
+        assertEquals(List.of("Frankenstein"), titles(index.suggest("mary s", 10)));
+        assertEquals(1L, index.suggest("dune", 10).get(0).getCatalogId());
+    }
+
+    @Test
+    void testSuggestIgnoresCaseAccentsAndLeadingArticle() {
+        index.add(book(1, "Les Misérables", "Victor Hugo"));
+        index.add(book(2, "The Hobbit", "J.R.R. Tolkien"));
+
+        assertEquals(List.of("Les Misérables"), titles(index.suggest("LES MISE", 10)));
+        assertEquals(List.of("The Hobbit"), titles(index.suggest("hob", 10)));
+        assertEquals(List.of("The Hobbit"), titles(index.suggest("the hob", 10)));
+    }
+
+    @Test
+    void testSuggestReturnsEmptyForUnknownOrBlankPrefix() {
+        index.add(book(1, "Dune", "Frank Herbert"));
+
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest(null, 10).isEmpty());
+    }
+
+    @Test
+    void testRebuildRanksByPopularity() {
+        when(bookCatalogRepository.findIndexEntryPage(eq(0L), any(Limit.class))).thenReturn(List.of(
+                CatalogIndexEntryDTO.fromBook(book(1, "Dracula", "Bram Stoker")),
+                CatalogIndexEntryDTO.fromBook(book(2, "Dune", "Frank Herbert")),
+                CatalogIndexEntryDTO.fromBook(book(3, "Don Quixote", "Miguel de Cervantes"))));
+        when(userBookRepository.countUserBooksPerBook()).thenReturn(List.of(
+                new Object[]{2L, 5L},
+                new Object[]{3L, 2L}));
+
+        index.rebuild();
+
+        assertEquals(List.of("Dune", "Don Quixote", "Dracula"), titles(index.suggest("d", 10)));
+        assertEquals(List.of("Dune", "Don Quixote"), titles(index.suggest("d", 2)));
+    }
+
+    @Test
+    void testAdjustPopularityReordersSuggestions() {
+        index.add(book(1, "Dracula", "Bram Stoker"));
+        index.add(book(2, "Dune", "Frank Herbert"));
+        assertEquals(List.of("Dracula", "Dune"), titles(index.suggest("d", 10)));
+
+        index.adjustPopularity(2, 1);
+        assertEquals(List.of("Dune", "Dracula"), titles(index.suggest("d", 10)));
+
+        index.adjustPopularity(2, -1);
+        assertEquals(List.of("Dracula", "Dune"), titles(index.suggest("d", 10)));
+    }
+
+    @Test
+    void testRemoveRefillsFromRemainingBooks() {
+        for (long id = 1; id <= 12; id++) {
+            index.add(book(id, "Book " + id, "Author"));
+            index.adjustPopularity(id, id);
+        }
+        assertEquals(CatalogSuggestIndex.MAX_SUGGESTIONS, index.suggest("book", 20).size());
+        assertEquals("Book 12", index.suggest("book", 1).get(0).getTitle());
+
+        index.remove(12);
+
+        List<String> remaining = titles(index.suggest("book", 20));
+        assertEquals(CatalogSuggestIndex.MAX_SUGGESTIONS, remaining.size());
+        assertEquals("Book 11", remaining.get(0));
+        assertTrue(remaining.contains("Book 2"));
+        assertFalse(remaining.contains("Book 12"));
+    }
+
+    @Test
+    void testAddReplacesRenamedBookButKeepsPopularity() {
+        index.add(book(1, "Dune", "Frank Herbert"));
+        index.add(book(2, "Dusk", "Someone"));
+        index.adjustPopularity(1, 3);
+
+        index.add(book(1, "Dune Messiah", "Frank Herbert"));
+
+        assertEquals(List.of("Dune Messiah", "Dusk"), titles(index.suggest("du", 10)));
+        assertEquals(List.of("Dune Messiah"), titles(index.suggest("dune m", 10)));
+    }
+
+    @Test
+    void testSuggestMatchesPrefixEndingInsideCollapsedNode() {
+        index.add(book(1, "Dune", null));
+        index.add(book(2, "Dusk", null));
+
+        // "du" is shared, "ne" and "sk" are single-child tails collapsed into one node each
+        assertEquals(4, index.nodeCount());
+        assertEquals(List.of("Dune"), titles(index.suggest("dun", 10)));
+        assertEquals(List.of("Dune", "Dusk"), titles(index.suggest("d", 10)));
+        assertTrue(index.suggest("dunes", 10).isEmpty());
+        assertTrue(index.suggest("dx", 10).isEmpty());
+    }
+
+    @Test
+    void testRemovePrunesEmptyNodes() {
+        index.add(book(1, "Dune", "Frank Herbert"));
+        int nodesWithOneBook = index.nodeCount();
+        index.add(book(2, "Dune Messiah", "Frank Herbert"));
+        index.add(book(3, "Dusk", null));
+
+        index.remove(2);
+        index.remove(3);
+
+        assertEquals(nodesWithOneBook, index.nodeCount());
+        assertEquals(List.of("Dune"), titles(index.suggest("dune", 10)));
+
+        index.remove(1);
+
+        assertEquals(1, index.nodeCount());
+        assertTrue(index.suggest("d", 10).isEmpty());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreReplayed() {
+        index.add(book(1, "Dracula", "Bram Stoker"));
+        index.add(book(2, "Dune", "Frank Herbert"));
+        when(userBookRepository.countUserBooksPerBook()).thenReturn(List.of());
+        when(bookCatalogRepository.findIndexEntryPage(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            // Committed after the rebuild started, before the new trie is swapped in
+            index.adjustPopularity(2, 1);
+            index.remove(1);
+            index.add(book(3, "Dusk", "Someone"));
+            return List.of(
+                    CatalogIndexEntryDTO.fromBook(book(1, "Dracula", "Bram Stoker")),
+                    CatalogIndexEntryDTO.fromBook(book(2, "Dune", "Frank Herbert")));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("Dune", "Dusk"), titles(index.suggest("d", 10)));
+    }
+}
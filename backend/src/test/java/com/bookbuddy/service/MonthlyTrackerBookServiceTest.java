@@ -23,6 +23,7 @@ class MonthlyTrackerBookServiceTest {
 
     private MonthlyTrackerBookService service;
     private FakeMonthlyTrackerBookRepo fakeRepo;
+    private UserBookServiceTest.FakeUserBookRepository fakeUserBookRepo;
 
     private User user;
     private BookCatalog book;
@@ -35,7 +36,8 @@ class MonthlyTrackerBookServiceTest {
     @BeforeEach
     void setup() {
         fakeRepo = new FakeMonthlyTrackerBookRepo();
-        service = new MonthlyTrackerBookService(fakeRepo);
+        fakeUserBookRepo = new UserBookServiceTest.FakeUserBookRepository();
+        service = new MonthlyTrackerBookService(fakeRepo, fakeUserBookRepo);
 
         user = new User("Alice", "Blue", "alice01", "alice@mail.com", "Pass1234");
         setUserId(user, 10L);
@@ -178,6 +180,47 @@ class MonthlyTrackerBookServiceTest {
         assertEquals(0, count);
     }
 
+    @Test
+    void testIsBookInTracker() {
+        fakeRepo.save(trackerBook1);
+
+        assertTrue(service.isBookInTracker(40L, 30L));
+        assertFalse(service.isBookInTracker(40L, 31L));
+        assertFalse(service.isBookInTracker(41L, 30L));
+    }
+
+    @Test
+    void testAddBooksToTrackerReportsPerItemErrors() {
+        User other = new User("Bob", "Green", "bob01", "bob@mail.com", "Pass1234");
+        setUserId(other, 11L);
+
+        UserBook inTracker = fakeUserBookRepo.save(userBook);
+        UserBook fresh = fakeUserBookRepo.save(new UserBook(user, book, ShelfStatus.CURRENTLY_READING));
+        UserBook foreign = fakeUserBookRepo.save(new UserBook(other, book, ShelfStatus.WANT_TO_READ));
+        fakeRepo.save(new MonthlyTrackerBook(tracker, inTracker));
+
+        MonthlyTrackerBookService.BulkAddResult result = service.addBooksToTracker(tracker,
+                List.of(fresh.getId(), inTracker.getId(), 999L, foreign.getId(), fresh.getId()));
+
+        assertEquals(1, result.added().size());
+        assertEquals(fresh, result.added().get(0).getUserBook());
+        assertEquals(List.of(
+                "Book " + inTracker.getId() + " is already in tracker",
+                "UserBook not found with id: 999",
+                "Book " + foreign.getId() + " does not belong to the same user",
+                "Book " + fresh.getId() + " is already in tracker"), result.errors());
+        assertEquals(2, service.getByTrackerId(40L).size());
+    }
+
+    @Test
+    void testAddBooksToTrackerNothingValid() {
+        MonthlyTrackerBookService.BulkAddResult result = service.addBooksToTracker(tracker, List.of(999L));
+
+        assertTrue(result.added().isEmpty());
+        assertEquals(1, result.errors().size());
+        assertEquals(0, fakeRepo.map.size());
+    }
+
     /**
      * Fake in-memory repository for MonthlyTrackerBook.
      */
@@ -230,6 +273,37 @@ class MonthlyTrackerBookServiceTest {
             return result;
         }
 
+        @Override
+        public boolean existsByMonthlyTrackerIdAndUserBookId(Long trackerId, Long userBookId) {
+            for (MonthlyTrackerBook mtb : findByMonthlyTrackerId(trackerId)) {
+                if (mtb.getUserBook().getId().equals(userBookId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Set<Long> findUserBookIdsInTracker(Long trackerId, Collection<Long> userBookIds) {
+            Set<Long> result = new HashSet<>();
+            for (MonthlyTrackerBook mtb : findByMonthlyTrackerId(trackerId)) {
+                if (userBookIds.contains(mtb.getUserBook().getId())) {
+                    result.add(mtb.getUserBook().getId());
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public <S extends MonthlyTrackerBook> List<S> saveAll(Iterable<S> entities) {
+            List<S> result = new ArrayList<>();
+            for (S entity : entities) {
+                save(entity);
+                result.add(entity);
+            }
+            return result;
+        }
+
         // Unused JpaRepository methods
         @Override public boolean existsById(Long aLong) { return false; }
         @Override public long count() { return 0; }
@@ -238,7 +312,6 @@ class MonthlyTrackerBookServiceTest {
         @Override public void deleteAll(Iterable<? extends MonthlyTrackerBook> iterable) {}
         @Override public void deleteAllById(Iterable<? extends Long> iterable) {}
         @Override public List<MonthlyTrackerBook> findAllById(Iterable<Long> iterable) { return null; }
-        @Override public <S extends MonthlyTrackerBook> List<S> saveAll(Iterable<S> entities) { return null; }
         @Override public <S extends MonthlyTrackerBook> S saveAndFlush(S entity) { return null; }
         @Override public void flush() {}
 
@@ -1,5 +1,6 @@
 package com.bookbuddy.service;
 
+import com.bookbuddy.dto.TrackerProgressDTO;
 import com.bookbuddy.model.*;
 import com.bookbuddy.repository.MonthlyTrackerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -147,6 +148,48 @@ class MonthlyTrackerServiceTest {
                 () -> service.updateGoal(999L, 7));
     }
 
+    @Test
+    void testGetTrackerByUserAndMonth() {
+        fakeRepo.save(tracker1);
+        fakeRepo.save(tracker2);
+        String year = tracker1.getYear();
+
+        assertTrue(service.getTrackerByUserAndMonth(1L, Months.JANUARY, year).isPresent());
+        assertFalse(service.getTrackerByUserAndMonth(1L, Months.FEBRUARY, year).isPresent());
+        assertFalse(service.getTrackerByUserAndMonth(1L, Months.JANUARY, "1999").isPresent());
+    }
+
+    @Test
+    void testCalculateProgress() {
+        tracker1.setTargetBooksNum(3);
+        UserBook first = new UserBook(user1, new BookCatalog("Dune", "Frank Herbert"), ShelfStatus.WANT_TO_READ);
+        UserBook second = new UserBook(user1, new BookCatalog("Emma", "Jane Austen"), ShelfStatus.WANT_TO_READ);
+        tracker1.addToTracker(first);
+        tracker1.addToTracker(second);
+        tracker1.getGoalBooks().get(0).setCompleted(true);
+        MonthlyTracker saved = fakeRepo.save(tracker1);
+
+        TrackerProgressDTO progress = service.calculateProgress(saved.getId());
+
+        assertEquals(2, progress.getTotalBooks());
+        assertEquals(1, progress.getCompletedBooks());
+        assertEquals(3, progress.getTargetBooks());
+        assertEquals(33.33, progress.getCompletionPercentage());
+        assertEquals("JANUARY", progress.getMonth());
+    }
+
+    @Test
+    void testCalculateProgressEmptyTrackerAndNotFound() {
+        MonthlyTracker saved = fakeRepo.save(tracker2);
+
+        TrackerProgressDTO progress = service.calculateProgress(saved.getId());
+
+        assertEquals(0, progress.getTotalBooks());
+        assertEquals(0, progress.getCompletedBooks());
+        assertEquals(0.0, progress.getCompletionPercentage());
+        assertThrows(IllegalArgumentException.class, () -> service.calculateProgress(999L));
+    }
+
     /**
      * Fake in-memory repository for MonthlyTracker.
      */
@@ -197,6 +240,48 @@ class MonthlyTrackerServiceTest {
             return result;
         }
 
+        @Override
+        public Optional<MonthlyTracker> findByUserIdAndMonthAndYear(Long userId, Months month, String year) {
+            for (MonthlyTracker t : findByUserId(userId)) {
+                if (t.getMonth() == month && t.getYear().equals(year)) {
+                    return Optional.of(t);
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public List<MonthlyTracker> findAllWithBooks() {
+            return findAll();
+        }
+
+        @Override
+        public Optional<MonthlyTracker> findWithBooksById(Long id) {
+            return findById(id);
+        }
+
+        @Override
+        public List<MonthlyTracker> findWithBooksByUserId(Long userId) {
+            return findByUserId(userId);
+        }
+
+        @Override
+        public Optional<MonthlyTracker> findWithBooksByUserIdAndMonthAndYear(Long userId, Months month, String year) {
+            return findByUserIdAndMonthAndYear(userId, month, year);
+        }
+
+        @Override
+        public Optional<TrackerProgressDTO> findProgressById(Long trackerId) {
+            MonthlyTracker t = storage.get(trackerId);
+            if (t == null) {
+                return Optional.empty();
+            }
+            long completed = t.getGoalBooks().stream().filter(MonthlyTrackerBook::isCompleted).count();
+            return Optional.of(new TrackerProgressDTO(t.getId(), t.getTargetBooksNum(),
+                    (long) t.getGoalBooks().size(), t.getGoalBooks().isEmpty() ? null : completed,
+                    t.getMonth(), t.getYear()));
+        }
+
         // Unused JpaRepository methods
         @Override public boolean existsById(Long id) { return false; }
         @Override public long count() { return 0; }
@@ -0,0 +1,82 @@
+package com.bookbuddy.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OpenLibraryCircuitBreaker state transitions.
+ */
+class OpenLibraryCircuitBreakerTest {
+
+    @Test
+    void testStartsClosed() {
+        OpenLibraryCircuitBreaker breaker = new OpenLibraryCircuitBreaker(3, Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+        assertEquals(OpenLibraryCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        OpenLibraryCircuitBreaker breaker = new OpenLibraryCircuitBreaker(3, Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(OpenLibraryCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.recordFailure();
+        assertEquals(OpenLibraryCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testSuccessResetsFailureCount() {
+        OpenLibraryCircuitBreaker breaker = new OpenLibraryCircuitBreaker(2, Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+        breaker.recordFailure();
+        breaker.recordSuccess(Duration.ofMillis(10));
+        breaker.recordFailure();
+
+        assertEquals(OpenLibraryCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testSlowCallsCountAsFailures() {
+        OpenLibraryCircuitBreaker breaker = new OpenLibraryCircuitBreaker(2, Duration.ofMillis(100), Duration.ofSeconds(30));
+
+        breaker.recordSuccess(Duration.ofMillis(500));
+        breaker.recordSuccess(Duration.ofMillis(500));
+
+        assertEquals(OpenLibraryCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenAllowsSingleTrial() throws InterruptedException {
+        OpenLibraryCircuitBreaker breaker = new OpenLibraryCircuitBreaker(1, Duration.ofSeconds(1), Duration.ofMillis(50));
+        breaker.recordFailure();
+        Thread.sleep(80);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(OpenLibraryCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.recordSuccess(Duration.ofMillis(10));
+        assertEquals(OpenLibraryCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testFailedTrialReopensCircuit() throws InterruptedException {
+        OpenLibraryCircuitBreaker breaker = new OpenLibraryCircuitBreaker(1, Duration.ofSeconds(1), Duration.ofMillis(50));
+        breaker.recordFailure();
+        Thread.sleep(80);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+
+        assertEquals(OpenLibraryCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+}
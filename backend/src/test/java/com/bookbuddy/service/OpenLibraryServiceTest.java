@@ -0,0 +1,256 @@
+package com.bookbuddy.service;
+
+import org.junit.jupiter.api.Test;
+
+import com.bookbuddy.config.OpenLibraryClientConfig;
+import com.bookbuddy.dto.OpenLibrarySearchResponse;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the search cache in OpenLibraryService.
+ */
+class OpenLibraryServiceTest {
+
+    @Test
+    void testSearchKeyNormalizesQuery() {
+        OpenLibraryService.SearchKey a = OpenLibraryService.SearchKey.of("q", "  The   Hobbit ", null, null);
+        OpenLibraryService.SearchKey b = OpenLibraryService.SearchKey.of("q", "the hobbit", 10, 1);
+
+        assertEquals(a, b);
+        assertEquals("the hobbit", a.query());
+    }
+
+    @Test
+    void testSearchKeyDiffersByModeLimitAndPage() {
+        OpenLibraryService.SearchKey base = OpenLibraryService.SearchKey.of("q", "dune", 10, 1);
+
+        assertNotEquals(base, OpenLibraryService.SearchKey.of("title", "dune", 10, 1));
+        assertNotEquals(base, OpenLibraryService.SearchKey.of("q", "dune", 20, 1));
+        assertNotEquals(base, OpenLibraryService.SearchKey.of("q", "dune", 10, 2));
+    }
+
+    @Test
+    void testCacheStatsStartEmpty() {
+        OpenLibraryService service = new OpenLibraryService(new RestTemplate(),
+                PoolingHttpClientConnectionManagerBuilder.create().build(), newCircuitBreaker(),
+                Runnable::run, Duration.ofMinutes(10), Duration.ofHours(1), 100);
+
+        Map<String, Object> stats = service.getCacheStats();
+
+        assertEquals(0L, stats.get("size"));
+        assertEquals(0L, stats.get("hits"));
+        assertEquals(0L, stats.get("misses"));
+        assertEquals(0L, stats.get("evictions"));
+    }
+
+    @Test
+    void testConnectionPoolStatsReportConfiguredLimits() {
+        OpenLibraryService service = new OpenLibraryService(new RestTemplate(),
+                PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(40)
+                        .setMaxConnPerRoute(15)
+                        .build(),
+                newCircuitBreaker(), Runnable::run, Duration.ofMinutes(10), Duration.ofHours(1), 100);
+
+        Map<String, Object> stats = service.getConnectionPoolStats();
+
+        assertEquals(0, stats.get("leased"));
+        assertEquals(40, stats.get("max"));
+        assertEquals(15, stats.get("maxPerRoute"));
+    }
+
+    @Test
+    void testRepeatedSearchIsServedFromCache() {
+        CountingService service = new CountingService();
+
+        service.searchBooks("Dune", 10, 1);
+        service.searchBooks(" dune ", 10, 1);
+
+        assertEquals(1, service.upstreamCalls.get());
+        assertEquals(1L, service.getCacheStats().get("hits"));
+    }
+
+    @Test
+    void testConcurrentSearchesShareOneUpstreamCall() throws Exception {
+        CountingService service = new CountingService();
+        service.gate = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<OpenLibrarySearchResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> service.searchBooks("dune", 10, 1)));
+        }
+
+        // Let all callers reach the in-flight call before releasing it
+        service.started.await(5, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        service.gate.countDown();
+
+        OpenLibrarySearchResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<OpenLibrarySearchResponse> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, service.upstreamCalls.get());
+    }
+
+    @Test
+    void testConcurrentCallersShareUpstreamFailure() throws Exception {
+        CountingService service = new CountingService();
+        service.gate = new CountDownLatch(1);
+        service.failure = new IllegalStateException("upstream down");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<OpenLibrarySearchResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(pool.submit(() -> service.searchBooks("dune", 10, 1)));
+        }
+
+        service.started.await(5, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        service.gate.countDown();
+
+        for (Future<OpenLibrarySearchResponse> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(service.failure, e.getCause());
+        }
+        pool.shutdown();
+
+        assertEquals(1, service.upstreamCalls.get());
+        assertEquals(0L, service.getCacheStats().get("size"));
+    }
+
+    @Test
+    void testServesStaleResultWhenUpstreamFails() throws Exception {
+        CountingService service = new CountingService(Duration.ofMillis(50));
+
+        OpenLibrarySearchResponse first = service.searchBooks("dune", 10, 1);
+        Thread.sleep(100); // let the fresh entry expire
+
+        service.failure = new IllegalStateException("upstream down");
+        OpenLibrarySearchResponse stale = service.searchBooks("dune", 10, 1);
+
+        assertSame(first, stale);
+        assertEquals(1L, service.getCacheStats().get("staleServed"));
+        assertEquals(1, service.getCacheStats().get("pendingRefresh"));
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutStaleResult() {
+        CountingService service = new CountingService();
+        service.failure = new IllegalStateException("upstream down");
+
+        // Two failures open the circuit (threshold is 2)
+        assertThrows(IllegalStateException.class, () -> service.searchBooks("a", 10, 1));
+        assertThrows(IllegalStateException.class, () -> service.searchBooks("b", 10, 1));
+
+        assertThrows(OpenLibraryUnavailableException.class, () -> service.searchBooks("c", 10, 1));
+        assertEquals(2, service.upstreamCalls.get());
+        assertEquals("OPEN", service.getCacheStats().get("circuitState"));
+    }
+
+    @Test
+    void testStaleEntriesRefreshAfterRecovery() throws Exception {
+        CountingService service = new CountingService(Duration.ofMillis(50));
+        service.searchBooks("dune", 10, 1);
+        Thread.sleep(100);
+
+        service.failure = new IllegalStateException("upstream down");
+        service.searchBooks("dune", 10, 1);
+
+        // Upstream recovers: the next successful call triggers the pending refresh
+        service.failure = null;
+        service.searchBooks("hobbit", 10, 1);
+
+        assertEquals(0, service.getCacheStats().get("pendingRefresh"));
+        assertEquals(4, service.upstreamCalls.get());
+    }
+
+    @Test
+    void testStaleRefreshRunsOffTheRequestThreadInBlockingMode() throws Exception {
+        // openlibrary.execution.virtual-threads=false: searches run on the calling thread
+        Executor requestExecutor = new OpenLibraryClientConfig().openLibraryExecutor(false);
+        ExecutorService refreshExecutor = new OpenLibraryClientConfig().openLibraryRefreshExecutor(1, 10);
+        CountingService service = new CountingService(Duration.ofMillis(50), refreshExecutor);
+        try {
+            requestExecutor.execute(() -> service.searchBooks("dune", 10, 1));
+            Thread.sleep(100);
+
+            service.failure = new IllegalStateException("upstream down");
+            requestExecutor.execute(() -> service.searchBooks("dune", 10, 1));
+
+            service.failure = null;
+            requestExecutor.execute(() -> service.searchBooks("hobbit", 10, 1));
+
+            refreshExecutor.shutdown();
+            assertTrue(refreshExecutor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, service.getCacheStats().get("pendingRefresh"));
+            assertEquals(4, service.upstreamThreads.size());
+            assertEquals(Thread.currentThread().getName(), service.upstreamThreads.get(2));
+            assertTrue(service.upstreamThreads.get(3).startsWith("openlibrary-refresh-"));
+        } finally {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    private static OpenLibraryCircuitBreaker newCircuitBreaker() {
+        return new OpenLibraryCircuitBreaker(5, Duration.ofSeconds(3), Duration.ofSeconds(30));
+    }
+
+    /**
+     * OpenLibraryService with the HTTP call replaced by a counter.
+     */
+    static class CountingService extends OpenLibraryService {
+
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+        final List<String> upstreamThreads = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate;
+        RuntimeException failure;
+
+        CountingService() {
+            this(Duration.ofMinutes(10));
+        }
+
+        CountingService(Duration cacheTtl) {
+            this(cacheTtl, Runnable::run);
+        }
+
+        CountingService(Duration cacheTtl, Executor refreshExecutor) {
+            super(new RestTemplate(), PoolingHttpClientConnectionManagerBuilder.create().build(),
+                    new OpenLibraryCircuitBreaker(2, Duration.ofSeconds(5), Duration.ofMinutes(5)),
+                    refreshExecutor, cacheTtl, Duration.ofHours(1), 100);
+        }
+
+        @Override
+        OpenLibrarySearchResponse fetchFromUpstream(String url) {
+            upstreamCalls.incrementAndGet();
+            upstreamThreads.add(Thread.currentThread().getName());
+            started.countDown();
+            try {
+                if (gate != null) {
+                    gate.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            OpenLibrarySearchResponse response = new OpenLibrarySearchResponse();
+            response.setDocs(List.of());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bookbuddy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpenLibraryWorksImporter against a temporary SQLite database.
+ */
+class OpenLibraryWorksImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private OpenLibraryWorksImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:sqlite:" + tempDir.resolve("import.db"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE book_catalog ("
+                + "id INTEGER PRIMARY KEY, title VARCHAR(255) NOT NULL, author VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(2000), cover_url VARCHAR(255), open_library_id VARCHAR(255) UNIQUE, "
+                + "genre VARCHAR(255) NOT NULL)");
+        importer = new OpenLibraryWorksImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    private static String work(String id, String title) {
+        return "/type/work\t/works/" + id + "\t3\t2023-01-01T00:00:00\t"
+                + "{\"type\": {\"key\": \"/type/work\"}, \"key\": \"/works/" + id + "\", \"title\": \"" + title + "\"}";
+    }
+
+    private Path writeDump(String name, List<String> lines) throws IOException {
+        Path dump = tempDir.resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(dump))) {
+            out.write(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        }
+        return dump;
+    }
+
+    private long catalogCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book_catalog", Long.class);
+    }
+
+    @Test
+    void testParseDumpLine() {
+        String line = "/type/work\t/works/OL45804W\t5\t2023-01-01T00:00:00\t"
+                + "{\"type\": {\"key\": \"/type/work\"}, \"key\": \"/works/OL45804W\", \"title\": \"Fantastic Mr Fox\", "
+                + "\"description\": {\"type\": \"/type/text\", \"value\": \"A fox.\"}, \"covers\": [-1, 6498519]}";
+
+        OpenLibraryWorksImporter.WorkRow row = importer.parseLine(line);
+
+        assertEquals("OL45804W", row.openLibraryId());
+        assertEquals("Fantastic Mr Fox", row.title());
+        assertEquals(OpenLibraryWorksImporter.UNKNOWN_AUTHOR, row.author());
+        assertEquals("A fox.", row.description());
+        assertEquals("https://covers.openlibrary.org/b/id/6498519-L.jpg", row.coverUrl());
+    }
+
+    @Test
+    void testParseJsonLineWithAuthorName() {
+        OpenLibraryWorksImporter.WorkRow row = importer.parseLine(
+                "{\"key\": \"/works/OL1W\", \"title\": \"Dune\", \"author_name\": [\"Frank Herbert\"], \"description\": \"Sand\"}");
+
+        assertEquals("Frank Herbert", row.author());
+        assertEquals("Sand", row.description());
+        assertEquals("", row.coverUrl());
+    }
+
+    @Test
+    void testParseRejectsInvalidLines() {
+        assertNull(importer.parseLine(""));
+        assertNull(importer.parseLine("not json"));
+        assertNull(importer.parseLine("{\"key\": \"/works/OL1W\"}"));
+        assertNull(importer.parseLine("{\"type\": {\"key\": \"/type/redirect\"}, \"key\": \"/works/OL1W\", \"title\": \"x\"}"));
+    }
+
+    @Test
+    void testImportInsertsAndSkipsDuplicates() throws IOException {
+        jdbcTemplate.update("INSERT INTO book_catalog (title, author, open_library_id, genre) VALUES ('Old', 'A', 'OL1W', 'OTHER')");
+        Path dump = writeDump("works.txt.gz", List.of(
+                work("OL1W", "Already there"),
+                work("OL2W", "Second"),
+                work("OL2W", "Second again"),
+                "garbage",
+                work("OL3W", "Third")));
+
+        OpenLibraryWorksImporter.ImportResult result = importer.importWorks(dump, tempDir.resolve("works.checkpoint"), 2);
+
+        assertEquals(5, result.linesRead());
+        assertEquals(2, result.inserted());
+        assertEquals(2, result.duplicates());
+        assertEquals(1, result.invalid());
+        assertEquals(3, catalogCount());
+        assertEquals("Old", jdbcTemplate.queryForObject(
+                "SELECT title FROM book_catalog WHERE open_library_id = 'OL1W'", String.class));
+        assertEquals("OTHER", jdbcTemplate.queryForObject(
+                "SELECT genre FROM book_catalog WHERE open_library_id = 'OL3W'", String.class));
+    }
+
+    @Test
+    void testImportResumesFromCheckpoint() throws IOException {
+        Path dump = writeDump("works.txt.gz", List.of(
+                work("OL1W", "One"),
+                work("OL2W", "Two"),
+                work("OL3W", "Three")));
+        Path checkpoint = tempDir.resolve("works.checkpoint");
+        Files.writeString(checkpoint, "2");
+
+        OpenLibraryWorksImporter.ImportResult result = importer.importWorks(dump, checkpoint, 100);
+
+        assertEquals(1, result.linesRead());
+        assertEquals(1, catalogCount());
+        assertEquals("3", Files.readString(checkpoint));
+
+        // Running again after completion imports nothing
+        assertEquals(0, importer.importWorks(dump, checkpoint, 100).linesRead());
+    }
+}
@@ -0,0 +1,213 @@
+package com.bookbuddy.service;
+
+import com.bookbuddy.dto.LeaderboardEntryDTO;
+import com.bookbuddy.model.BookCatalog;
+import com.bookbuddy.model.BookRatingAggregate;
+import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.BookRatingAggregateRepository;
+import com.bookbuddy.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory review leaderboards.
+ */
+class ReviewLeaderboardTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 15);
+
+    private MutableClock clock;
+    private BookRatingAggregateRepository ratingAggregateRepository;
+    private ReviewRepository reviewRepository;
+    private BookCatalogRepository bookCatalogRepository;
+    private ReviewLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant());
+        ratingAggregateRepository = mock(BookRatingAggregateRepository.class);
+        reviewRepository = mock(ReviewRepository.class);
+        bookCatalogRepository = mock(BookCatalogRepository.class);
+        List<BookCatalog> books = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            books.add(book(id, "Book " + id));
+        }
+        when(bookCatalogRepository.findAllById(any())).thenReturn(books);
+
+        leaderboard = new ReviewLeaderboard(ratingAggregateRepository, reviewRepository, bookCatalogRepository,
+                3, 2, 5, clock);
+    }
+
+    // Utility to assign IDs (simulates database behavior)
+    private BookCatalog book(long id, String title) {
+        BookCatalog book = new BookCatalog(title, "Author");
+        try {
+            Field f = BookCatalog.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(book, id);
+        } catch (Exception ignored) {}
+        return book;
+    }
+
+    private void rate(long bookId, int... ratings) {
+        for (int rating : ratings) {
+            leaderboard.reviewAdded(bookId, rating, TODAY);
+        }
+    }
+
+    private static List<Long> ids(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getBookId).toList();
+    }
+
+    @Test
+    void testBayesianAverageFavorsWellReviewedBooks() {
+        rate(1, 5, 5);
+        rate(2, 5, 4, 5, 4, 5, 4, 5, 4, 5, 5);
+        rate(3, 2, 3, 2);
+        leaderboard.refresh();
+
+        List<LeaderboardEntryDTO> top = leaderboard.getTopRated(LeaderboardWindow.MONTH, 10);
+
+        assertEquals(List.of(2L, 1L, 3L), ids(top));
+        assertEquals(5.0, top.get(1).getAverageRating());
+        assertTrue(top.get(1).getScore() < top.get(0).getScore());
+        assertEquals("Book 2", top.get(0).getTitle());
+    }
+
+    @Test
+    void testMinimumReviewsAndSizeBound() {
+        rate(1, 5);
+        rate(2, 3, 3);
+        rate(3, 4, 4);
+        rate(4, 2, 2, 2);
+        rate(5, 1, 1, 1, 1);
+        leaderboard.refresh();
+
+        // Book 1 has too few reviews; only the best three are kept
+        assertEquals(List.of(3L, 2L, 4L), ids(leaderboard.getTopRated(LeaderboardWindow.ALL_TIME, 10)));
+        assertEquals(List.of(5L, 4L, 3L), ids(leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10)));
+        assertEquals(List.of(5L), ids(leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 1)));
+    }
+
+    @Test
+    void testReadsServeLastSnapshot() {
+        rate(1, 4, 4);
+        leaderboard.refresh();
+        rate(2, 5, 5, 5);
+
+        assertEquals(List.of(1L), ids(leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10)));
+
+        leaderboard.refresh();
+        assertEquals(List.of(2L, 1L), ids(leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10)));
+    }
+
+    @Test
+    void testRemovingReviews() {
+        rate(1, 4, 4);
+        rate(2, 5, 5);
+        leaderboard.reviewRemoved(2, 5, TODAY);
+        leaderboard.reviewRemoved(2, 5, TODAY);
+        leaderboard.refresh();
+
+        assertEquals(List.of(1L), ids(leaderboard.getMostReviewed(LeaderboardWindow.MONTH, 10)));
+    }
+
+    @Test
+    void testMonthWindowOnlyCountsThisMonth() {
+        leaderboard.reviewAdded(1, 5, TODAY.minusMonths(1));
+        leaderboard.reviewAdded(1, 5, null);
+        rate(2, 3);
+        leaderboard.refresh();
+
+        assertEquals(List.of(2L), ids(leaderboard.getMostReviewed(LeaderboardWindow.MONTH, 10)));
+        assertEquals(List.of(1L, 2L), ids(leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10)));
+
+        // A new month starts with an empty monthly board
+        clock.instant = clock.instant.plus(Duration.ofDays(31));
+        leaderboard.refresh();
+
+        assertTrue(leaderboard.getMostReviewed(LeaderboardWindow.MONTH, 10).isEmpty());
+        assertEquals(2, leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10).size());
+    }
+
+    @Test
+    void testRebuildLoadsTotals() {
+        when(ratingAggregateRepository.findAll()).thenReturn(List.of(
+                new BookRatingAggregate(1L, 4, 18, 0, 0, 0, 2, 2),
+                new BookRatingAggregate(2L, 2, 6, 0, 0, 2, 0, 0)));
+        List<Object[]> monthRows = new ArrayList<>();
+        monthRows.add(new Object[]{2L, 2L, 6L});
+        when(reviewRepository.sumRatingsPerBookSince(LocalDate.of(2025, 3, 1))).thenReturn(monthRows);
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(1L, 2L), ids(leaderboard.getTopRated(LeaderboardWindow.ALL_TIME, 10)));
+        assertEquals(List.of(2L), ids(leaderboard.getTopRated(LeaderboardWindow.MONTH, 10)));
+    }
+
+    @Test
+    void testReviewsAddedDuringRebuildAreKept() {
+        when(ratingAggregateRepository.findAll()).thenAnswer(invocation -> {
+            // Committed after the aggregates were read, before the totals are replaced
+            rate(3, 5, 5);
+            return List.of(new BookRatingAggregate(1L, 2, 8, 0, 0, 0, 2, 0));
+        });
+        when(reviewRepository.sumRatingsPerBookSince(LocalDate.of(2025, 3, 1))).thenReturn(new ArrayList<>());
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(3L, 1L), ids(leaderboard.getTopRated(LeaderboardWindow.ALL_TIME, 10)));
+        assertEquals(List.of(3L), ids(leaderboard.getTopRated(LeaderboardWindow.MONTH, 10)));
+    }
+
+    @Test
+    void testOlderRefreshDoesNotOverwriteNewerSnapshot() {
+        rate(1, 4, 4);
+        List<BookCatalog> books = List.of(book(1, "Book 1"), book(2, "Book 2"));
+        when(bookCatalogRepository.findAllById(any())).thenAnswer(invocation -> {
+            // A second refresh runs and publishes while the first is still looking up books
+            rate(2, 5, 5);
+            leaderboard.refresh();
+            return books;
+        }).thenReturn(books);
+
+        leaderboard.refresh();
+
+        assertEquals(List.of(2L, 1L), ids(leaderboard.getTopRated(LeaderboardWindow.MONTH, 10)));
+    }
+
+    /**
+     * Clock whose time can be moved forward by the test.
+     */
+    static class MutableClock extends Clock {
+        Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
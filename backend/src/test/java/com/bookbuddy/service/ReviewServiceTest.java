@@ -1,21 +1,35 @@
 package com.bookbuddy.service;
 
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.LeaderboardEntryDTO;
+import com.bookbuddy.dto.RatingSummaryDTO;
+import com.bookbuddy.dto.ReviewResponse;
+import com.bookbuddy.model.BookRatingAggregate;
 import com.bookbuddy.model.Review;
 import com.bookbuddy.model.BookCatalog;
 import com.bookbuddy.model.User;
+import com.bookbuddy.repository.BookCatalogRepository;
+import com.bookbuddy.repository.BookRatingAggregateRepository;
 import com.bookbuddy.repository.ReviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Comprehensive unit tests for ReviewService using a simple in-memory Fake repository.
@@ -24,6 +38,9 @@ class ReviewServiceTest {
 
     private ReviewService reviewService;
     private FakeReviewRepository fakeRepo;
+    private FakeBookRatingAggregateRepository aggregateRepo;
+    private ReviewLeaderboard leaderboard;
+    private BookCatalogRepository bookCatalogRepo;
 
     private User user1;
     private User user2;
@@ -34,7 +51,10 @@ class ReviewServiceTest {
     @BeforeEach
     void setUp() {
         fakeRepo = new FakeReviewRepository();
-        reviewService = new ReviewService(fakeRepo);
+        aggregateRepo = new FakeBookRatingAggregateRepository(fakeRepo);
+        bookCatalogRepo = mock(BookCatalogRepository.class);
+        leaderboard = new ReviewLeaderboard(aggregateRepo, fakeRepo, bookCatalogRepo, 10, 1, 5, Clock.systemDefaultZone());
+        reviewService = new ReviewService(fakeRepo, aggregateRepo, leaderboard);
 
         user1 = new User("John", "Doe", "john123", "john@test.com", "pass123");
         user2 = new User("Alice", "Smith", "alice89", "alice@test.com", "pass888");
@@ -45,6 +65,17 @@ class ReviewServiceTest {
         // give books IDs (service tests assume real IDs)
         setId(book1, 1L);
         setId(book2, 2L);
+        setUserId(user1, 10L);
+        setUserId(user2, 20L);
+        when(bookCatalogRepo.findAllById(any())).thenReturn(List.of(book1, book2));
+    }
+
+    private void setUserId(User user, long id) {
+        try {
+            var f = User.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(user, id);
+        } catch (Exception ignored) {}
     }
 
     // Utility to assign IDs (simulates database behavior)
@@ -140,8 +171,8 @@ class ReviewServiceTest {
         Review r2 = new Review(book1, user1, 3);
         r2.setComment("Good");
 
-        fakeRepo.save(r1);
-        fakeRepo.save(r2);
+        reviewService.saveReview(r1);
+        reviewService.saveReview(r2);
 
         double avg = reviewService.getAverageRating(1L);
         assertEquals(4.0, avg);
@@ -151,7 +182,7 @@ class ReviewServiceTest {
     void testGetAverageRatingSingleReview() {
         Review r = new Review(book1, user1, 2);
         r.setComment("Meh");
-        fakeRepo.save(r);
+        reviewService.saveReview(r);
 
         double avg = reviewService.getAverageRating(1L);
 
@@ -240,6 +271,226 @@ class ReviewServiceTest {
         assertEquals(5, r2.getRating());
     }
 
+    @Test
+    void testDeleteReviewUpdatesAverage() {
+        Review r1 = reviewService.saveReview(new Review(book1, user1, 5));
+        reviewService.saveReview(new Review(book1, user2, 1));
+
+        reviewService.deleteReview(r1.getId());
+
+        assertEquals(1.0, reviewService.getAverageRating(1L));
+        assertEquals(1, reviewService.getRatingSummary(1L).getReviewCount());
+    }
+
+    @Test
+    void testUpdatingRatingMovesHistogramBucket() {
+        Review r = reviewService.saveReview(new Review(book1, user1, 2));
+
+        r.setRating(5);
+        reviewService.saveReview(r);
+
+        RatingSummaryDTO summary = reviewService.getRatingSummary(1L);
+        assertEquals(1, summary.getReviewCount());
+        assertEquals(5.0, summary.getAverageRating());
+        assertEquals(0L, summary.getStarCounts().get(2));
+        assertEquals(1L, summary.getStarCounts().get(5));
+    }
+
+    @Test
+    void testRatingSummaryHistogram() {
+        reviewService.saveReview(new Review(book1, user1, 5));
+        reviewService.saveReview(new Review(book1, user2, 5));
+        reviewService.saveReview(new Review(book1, user2, 3));
+        reviewService.saveReview(new Review(book2, user1, 1));
+
+        RatingSummaryDTO summary = reviewService.getRatingSummary(1L);
+
+        assertEquals(3, summary.getReviewCount());
+        assertEquals(13.0 / 3, summary.getAverageRating(), 1e-9);
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 1L, 4, 0L, 5, 2L), summary.getStarCounts());
+    }
+
+    @Test
+    void testRatingSummaryWithoutReviews() {
+        RatingSummaryDTO summary = reviewService.getRatingSummary(1L);
+
+        assertEquals(0, summary.getReviewCount());
+        assertEquals(0.0, summary.getAverageRating());
+        assertEquals(0L, summary.getStarCounts().get(5));
+    }
+
+    @Test
+    void testGetRatingSummariesForManyBooks() {
+        reviewService.saveReview(new Review(book1, user1, 4));
+        reviewService.saveReview(new Review(book1, user2, 2));
+        reviewService.saveReview(new Review(book2, user1, 5));
+
+        List<RatingSummaryDTO> summaries = reviewService.getRatingSummaries(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(List.of(2L, 99L, 1L), summaries.stream().map(RatingSummaryDTO::getBookId).toList());
+        assertEquals(5.0, summaries.get(0).getAverageRating());
+        assertEquals(0, summaries.get(1).getReviewCount());
+        assertEquals(0.0, summaries.get(1).getAverageRating());
+        assertEquals(2, summaries.get(2).getReviewCount());
+        assertEquals(3.0, summaries.get(2).getAverageRating());
+    }
+
+    @Test
+    void testBookReviewsPageNewestFirst() {
+        Review r1 = reviewService.saveReview(new Review(book1, user1, 3));
+        Review r2 = reviewService.saveReview(new Review(book1, user2, 5));
+        reviewService.saveReview(new Review(book2, user1, 4));
+        Review r4 = reviewService.saveReview(new Review(book1, user2, 1));
+
+        CursorPageDTO<ReviewResponse> page = reviewService.getBookReviewsPage(1L, null, 2, ReviewSort.NEWEST);
+
+        assertEquals(List.of(r4.getId(), r2.getId()), page.getItems().stream().map(ReviewResponse::getId).toList());
+        assertEquals("Dune", page.getItems().get(0).getBookTitle());
+        assertEquals("alice89", page.getItems().get(0).getUsername());
+        assertTrue(page.isHasMore());
+
+        CursorPageDTO<ReviewResponse> next = reviewService.getBookReviewsPage(1L, page.getNextCursor(), 2, ReviewSort.NEWEST);
+
+        assertEquals(List.of(r1.getId()), next.getItems().stream().map(ReviewResponse::getId).toList());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testUserReviewsPageByRating() {
+        Review low = reviewService.saveReview(new Review(book1, user1, 2));
+        Review highOld = reviewService.saveReview(new Review(book2, user1, 5));
+        reviewService.saveReview(new Review(book1, user2, 5));
+        Review highNew = reviewService.saveReview(new Review(book1, user1, 5));
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<ReviewResponse> page = reviewService.getUserReviewsPage(10L, cursor, 1, ReviewSort.RATING);
+            page.getItems().forEach(r -> ids.add(r.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(highNew.getId(), highOld.getId(), low.getId()), ids);
+    }
+
+    @Test
+    void testReviewsPageRejectsBadCursors() {
+        reviewService.saveReview(new Review(book1, user1, 3));
+        reviewService.saveReview(new Review(book1, user1, 4));
+        String newestCursor = reviewService.getBookReviewsPage(1L, null, 1, ReviewSort.NEWEST).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getBookReviewsPage(1L, "not-a-cursor", 1, ReviewSort.NEWEST));
+        assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getBookReviewsPage(1L, newestCursor, 1, ReviewSort.RATING));
+    }
+
+    @Test
+    void testReviewWritesUpdateLeaderboard() {
+        Review r = reviewService.saveReview(new Review(book1, user1, 5));
+        reviewService.saveReview(new Review(book1, user2, 4));
+        reviewService.saveReview(new Review(book2, user1, 3));
+
+        // Reviewed one month ago: counts for all time only
+        Review old = new Review(book2, user2, 3);
+        old.setCreatedAt(LocalDate.now().minusMonths(1));
+        reviewService.saveReview(old);
+
+        reviewService.deleteReview(r.getId());
+        leaderboard.refresh();
+
+        List<Long> monthly = leaderboard.getMostReviewed(LeaderboardWindow.MONTH, 10).stream()
+                .map(e -> e.getBookId()).toList();
+        List<Long> allTime = leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10).stream()
+                .map(e -> e.getBookId()).toList();
+        assertTrue(monthly.containsAll(List.of(1L, 2L)));
+        assertEquals(List.of(2L, 1L), allTime);
+        assertEquals(1, leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10).get(1).getReviewCount());
+    }
+
+    @Test
+    void testRebuildRepairsDrift() {
+        reviewService.saveReview(new Review(book1, user1, 4));
+        // Written directly, bypassing the aggregates
+        fakeRepo.save(new Review(book1, user2, 2));
+        fakeRepo.save(new Review(book2, user1, 5));
+
+        int books = reviewService.rebuildRatingAggregates();
+
+        assertEquals(2, books);
+        assertEquals(3.0, reviewService.getAverageRating(1L));
+        assertEquals(5.0, reviewService.getAverageRating(2L));
+
+        // The leaderboards are reloaded from the rebuilt aggregates
+        List<LeaderboardEntryDTO> mostReviewed = leaderboard.getMostReviewed(LeaderboardWindow.ALL_TIME, 10);
+        assertEquals(List.of(1L, 2L), mostReviewed.stream().map(LeaderboardEntryDTO::getBookId).toList());
+        assertEquals(2, mostReviewed.get(0).getReviewCount());
+    }
+
+    /**
+     * In-memory fake of the aggregate upsert and rebuild statements.
+     */
+    static class FakeBookRatingAggregateRepository implements BookRatingAggregateRepository {
+
+        // bookId -> {count, sum, one, two, three, four, five}
+        Map<Long, long[]> totals = new HashMap<>();
+        private final FakeReviewRepository reviews;
+
+        FakeBookRatingAggregateRepository(FakeReviewRepository reviews) {
+            this.reviews = reviews;
+        }
+
+        @Override
+        public Optional<BookRatingAggregate> findById(Long bookId) {
+            long[] t = totals.get(bookId);
+            if (t == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new BookRatingAggregate(bookId, t[0], t[1], t[2], t[3], t[4], t[5], t[6]));
+        }
+
+        @Override
+        public List<BookRatingAggregate> findAll() {
+            List<BookRatingAggregate> result = new ArrayList<>();
+            for (Long bookId : totals.keySet()) {
+                findById(bookId).ifPresent(result::add);
+            }
+            return result;
+        }
+
+        @Override
+        public List<BookRatingAggregate> findByBookIdIn(Collection<Long> bookIds) {
+            List<BookRatingAggregate> result = new ArrayList<>();
+            for (Long bookId : bookIds) {
+                findById(bookId).ifPresent(result::add);
+            }
+            return result;
+        }
+
+        @Override
+        public void applyRating(Long bookId, int rating, int delta) {
+            long[] t = totals.computeIfAbsent(bookId, id -> new long[7]);
+            t[0] += delta;
+            t[1] += (long) delta * rating;
+            if (rating >= 1 && rating <= 5) {
+                t[1 + rating] += delta;
+            }
+        }
+
+        @Override
+        public void deleteAllAggregates() {
+            totals.clear();
+        }
+
+        @Override
+        public int insertFromReviews() {
+            for (Review r : reviews.storage.values()) {
+                applyRating(r.getBook().getId(), r.getRating(), 1);
+            }
+            return totals.size();
+        }
+    }
+
     /**
      * Simple in-memory fake repository.
      */
@@ -259,6 +510,7 @@ class ReviewServiceTest {
             } catch (Exception ignored) {}
 
             storage.put(review.getId(), review);
+            review.markPersisted();
             return review;
         }
 
@@ -288,6 +540,59 @@ class ReviewServiceTest {
             return result;
         }
 
+        @Override
+        public List<Object[]> sumRatingsPerBookSince(LocalDate since) {
+            Map<Long, long[]> totals = new HashMap<>();
+            for (Review r : storage.values()) {
+                if (r.getCreatedAt() != null && !r.getCreatedAt().isBefore(since)) {
+                    long[] t = totals.computeIfAbsent(r.getBook().getId(), id -> new long[2]);
+                    t[0]++;
+                    t[1] += r.getRating();
+                }
+            }
+            List<Object[]> rows = new ArrayList<>();
+            totals.forEach((bookId, t) -> rows.add(new Object[]{bookId, t[0], t[1]}));
+            return rows;
+        }
+
+        @Override
+        public List<ReviewResponse> findBookPageNewest(Long bookId, long beforeId, Limit limit) {
+            return page(r -> r.getBook().getId() == bookId && r.getId() < beforeId, false, limit);
+        }
+
+        @Override
+        public List<ReviewResponse> findBookPageByRating(Long bookId, int beforeRating, long beforeId, Limit limit) {
+            return page(r -> r.getBook().getId() == bookId && before(r, beforeRating, beforeId), true, limit);
+        }
+
+        @Override
+        public List<ReviewResponse> findUserPageNewest(Long userId, long beforeId, Limit limit) {
+            return page(r -> r.getUser().getId() == userId && r.getId() < beforeId, false, limit);
+        }
+
+        @Override
+        public List<ReviewResponse> findUserPageByRating(Long userId, int beforeRating, long beforeId, Limit limit) {
+            return page(r -> r.getUser().getId() == userId && before(r, beforeRating, beforeId), true, limit);
+        }
+
+        private static boolean before(Review r, int beforeRating, long beforeId) {
+            return r.getRating() < beforeRating || (r.getRating() == beforeRating && r.getId() < beforeId);
+        }
+
+        private List<ReviewResponse> page(Predicate<Review> filter, boolean byRating, Limit limit) {
+            Comparator<Review> order = Comparator.comparingLong(Review::getId).reversed();
+            if (byRating) {
+                order = Comparator.comparingInt(Review::getRating).reversed().thenComparing(order);
+            }
+            return storage.values().stream()
+                    .filter(filter)
+                    .sorted(order)
+                    .limit(limit.max())
+                    .map(r -> new ReviewResponse(r.getId(), r.getUser().getUsername(), r.getBook().getTitle(),
+                            r.getBook().getId(), r.getRating(), r.getComment()))
+                    .toList();
+        }
+
 		@Override
 		public void flush() {
 
@@ -13,9 +13,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
+import com.bookbuddy.dto.CursorPageDTO;
+import com.bookbuddy.dto.LibraryBookDTO;
+import com.bookbuddy.dto.LibrarySummaryDTO;
+import com.bookbuddy.model.Genre;
+import org.springframework.data.domain.Limit;
+
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +35,7 @@ class UserBookServiceTest {
 
     private UserBookService service;
     private FakeUserBookRepository fakeRepo;
+    private CatalogSuggestIndex suggestIndex;
 
     private User user1;
     private User user2;
@@ -36,7 +46,8 @@ class UserBookServiceTest {
     @BeforeEach
     void setUp() {
         fakeRepo = new FakeUserBookRepository();
-        service = new UserBookService(fakeRepo);
+        suggestIndex = new CatalogSuggestIndex(null, fakeRepo);
+        service = new UserBookService(fakeRepo, suggestIndex, Duration.ofMinutes(10), 100);
 
         // Fake users
         user1 = new User("John", "Doe", "john123", "john@mail.com", "pass123");
@@ -118,6 +129,21 @@ class UserBookServiceTest {
         assertTrue(true);
     }
 
+    @Test
+    void testSaveAndDeleteUpdateSuggestionPopularity() {
+        BookCatalog duet = new BookCatalog("Duet", "Someone");
+        setBookId(duet, 30L);
+        suggestIndex.add(book1);
+        suggestIndex.add(duet);
+        assertEquals("Duet", suggestIndex.suggest("du", 10).get(0).getTitle());
+
+        UserBook ub = service.saveUserBook(new UserBook(user1, book1, ShelfStatus.READ));
+        assertEquals("Dune", suggestIndex.suggest("du", 10).get(0).getTitle());
+
+        service.deleteUserBook(ub.getId());
+        assertEquals("Duet", suggestIndex.suggest("du", 10).get(0).getTitle());
+    }
+
     @Test
     void testGetBooksByUserId() {
         fakeRepo.save(new UserBook(user1, book1, ShelfStatus.WANT_TO_READ));
@@ -152,12 +178,135 @@ class UserBookServiceTest {
         assertEquals(0, result.size());
     }
 
+    private UserBook addedOn(BookCatalog book, ShelfStatus shelf, LocalDate createdAt) {
+        UserBook ub = new UserBook(user1, book, shelf);
+        ub.setCreatedAt(createdAt);
+        return service.saveUserBook(ub);
+    }
+
+    @Test
+    void testLibraryPageRecentFirst() {
+        BookCatalog book3 = new BookCatalog("Emma", "Jane Austen");
+        setBookId(book3, 30L);
+        UserBook older = addedOn(book1, ShelfStatus.READ, LocalDate.of(2024, 1, 5));
+        UserBook sameDayFirst = addedOn(book2, ShelfStatus.READ, LocalDate.of(2024, 3, 1));
+        UserBook sameDaySecond = addedOn(book3, ShelfStatus.WANT_TO_READ, LocalDate.of(2024, 3, 1));
+        service.saveUserBook(new UserBook(user2, book1, ShelfStatus.READ));
+
+        CursorPageDTO<LibraryBookDTO> page = service.getLibraryPage(1L, null, 2, LibrarySort.RECENT, null, null);
+
+        assertEquals(List.of(sameDaySecond.getId(), sameDayFirst.getId()),
+                page.getItems().stream().map(LibraryBookDTO::getId).toList());
+        assertEquals("Emma", page.getItems().get(0).getTitle());
+        assertEquals(30L, page.getItems().get(0).getBookId());
+        assertNotNull(page.getNextCursor());
+
+        CursorPageDTO<LibraryBookDTO> next =
+                service.getLibraryPage(1L, page.getNextCursor(), 2, LibrarySort.RECENT, null, null);
+
+        assertEquals(List.of(older.getId()), next.getItems().stream().map(LibraryBookDTO::getId).toList());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testLibraryPageByTitleWithFilters() {
+        BookCatalog book3 = new BookCatalog("Emma", "Jane Austen");
+        setBookId(book3, 30L);
+        book3.setGenre(Genre.CLASSICS);
+        book1.setGenre(Genre.SCIENCE_FICTION);
+        addedOn(book1, ShelfStatus.READ, LocalDate.of(2024, 1, 5));
+        addedOn(book2, ShelfStatus.WANT_TO_READ, LocalDate.of(2024, 2, 1));
+        addedOn(book3, ShelfStatus.READ, LocalDate.of(2024, 3, 1));
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<LibraryBookDTO> page =
+                    service.getLibraryPage(1L, cursor, 1, LibrarySort.TITLE, ShelfStatus.READ, null);
+            page.getItems().forEach(b -> titles.add(b.getTitle()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("Dune", "Emma"), titles);
+        assertEquals(List.of("Emma"), service.getLibraryPage(1L, null, 10, LibrarySort.OLDEST, null, Genre.CLASSICS)
+                .getItems().stream().map(LibraryBookDTO::getTitle).toList());
+    }
+
+    @Test
+    void testLibraryPageRejectsBadCursors() {
+        addedOn(book1, ShelfStatus.READ, LocalDate.of(2024, 1, 5));
+        addedOn(book2, ShelfStatus.READ, LocalDate.of(2024, 2, 5));
+        String recentCursor = service.getLibraryPage(1L, null, 1, LibrarySort.RECENT, null, null).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getLibraryPage(1L, "garbage", 1, LibrarySort.RECENT, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getLibraryPage(1L, recentCursor, 1, LibrarySort.TITLE, null, null));
+    }
+
+    @Test
+    void testLibrarySummaryCountsEveryShelf() {
+        service.saveUserBook(new UserBook(user1, book1, ShelfStatus.READ));
+        service.saveUserBook(new UserBook(user1, book2, ShelfStatus.READ));
+        service.saveUserBook(new UserBook(user2, book1, ShelfStatus.CURRENTLY_READING));
+
+        LibrarySummaryDTO summary = service.getLibrarySummary(1L);
+
+        assertEquals(2, summary.getTotalBooks());
+        assertEquals(2L, summary.getShelfCounts().get(ShelfStatus.READ));
+        assertEquals(0L, summary.getShelfCounts().get(ShelfStatus.WANT_TO_READ));
+        assertEquals(0L, summary.getShelfCounts().get(ShelfStatus.CURRENTLY_READING));
+    }
+
+    @Test
+    void testLibrarySummaryIsCachedUntilLibraryChanges() {
+        UserBook ub = service.saveUserBook(new UserBook(user1, book1, ShelfStatus.WANT_TO_READ));
+
+        service.getLibrarySummary(1L);
+        service.getLibrarySummary(1L);
+        assertEquals(1, fakeRepo.shelfQueries);
+
+        // Another user's change keeps the cached entry
+        service.saveUserBook(new UserBook(user2, book2, ShelfStatus.READ));
+        service.getLibrarySummary(1L);
+        assertEquals(1, fakeRepo.shelfQueries);
+
+        ub.setShelf(ShelfStatus.READ);
+        service.saveUserBook(ub);
+        assertEquals(1L, service.getLibrarySummary(1L).getShelfCounts().get(ShelfStatus.READ));
+        assertEquals(2, fakeRepo.shelfQueries);
+
+        service.deleteUserBook(ub.getId());
+        assertEquals(0, service.getLibrarySummary(1L).getTotalBooks());
+        assertEquals(3, fakeRepo.shelfQueries);
+    }
+
+    @Test
+    void testLibrarySummaryReadBeforeACommitIsNotCached() {
+        service.saveUserBook(new UserBook(user1, book1, ShelfStatus.READ));
+        fakeRepo.afterShelfQuery = () -> {
+            // Committed (and evicted) while the old counts were being read
+            fakeRepo.afterShelfQuery = () -> {};
+            service.saveUserBook(new UserBook(user1, book2, ShelfStatus.READ));
+        };
+
+        assertEquals(1, service.getLibrarySummary(1L).getTotalBooks());
+
+        assertEquals(2, service.getLibrarySummary(1L).getTotalBooks());
+        assertEquals(2, fakeRepo.shelfQueries);
+        service.getLibrarySummary(1L);
+        assertEquals(2, fakeRepo.shelfQueries);
+    }
+
     /**
      * In-memory Fake Repository for UserBook.
      */
     static class FakeUserBookRepository implements UserBookRepository {
 
         long idCounter = 1;
+        int shelfQueries = 0;
+        // Runs after a shelf count has been read, before it is returned
+        Runnable afterShelfQuery = () -> {};
         Map<Long, UserBook> storage = new HashMap<>();
 
         @Override
@@ -223,7 +372,15 @@ class UserBookServiceTest {
         @Override public void deleteAll() {}
         @Override public void deleteAll(Iterable<? extends UserBook> entities) {}
         @Override public void deleteAllById(Iterable<? extends Long> ids) {}
-        @Override public List<UserBook> findAllById(Iterable<Long> ids) { return null; }
+        @Override public List<UserBook> findAllById(Iterable<Long> ids) {
+            List<UserBook> result = new ArrayList<>();
+            for (Long id : ids) {
+                if (storage.containsKey(id)) {
+                    result.add(storage.get(id));
+                }
+            }
+            return result;
+        }
         @Override public <S extends UserBook> List<S> saveAll(Iterable<S> entities) { return null; }
         @Override public <S extends UserBook> S saveAndFlush(S entity) { return null; }
         @Override public void flush() {}
@@ -328,5 +485,75 @@ class UserBookServiceTest {
 		public long countByUserAndShelf(User user, String shelf) {
 			return 0;
 		}
+
+		@Override
+		public List<LibraryBookDTO> findLibraryPageRecent(Long userId, LocalDate afterDate, long afterId,
+				ShelfStatus shelf, Genre genre, Limit limit) {
+			Comparator<UserBook> order = Comparator.comparing(UserBook::getCreatedAt).thenComparing(UserBook::getId);
+			return libraryPage(userId, shelf, genre, ub -> ub.getCreatedAt().isBefore(afterDate)
+					|| (ub.getCreatedAt().equals(afterDate) && ub.getId() < afterId), order.reversed(), limit);
+		}
+
+		@Override
+		public List<LibraryBookDTO> findLibraryPageOldest(Long userId, LocalDate afterDate, long afterId,
+				ShelfStatus shelf, Genre genre, Limit limit) {
+			Comparator<UserBook> order = Comparator.comparing(UserBook::getCreatedAt).thenComparing(UserBook::getId);
+			return libraryPage(userId, shelf, genre, ub -> ub.getCreatedAt().isAfter(afterDate)
+					|| (ub.getCreatedAt().equals(afterDate) && ub.getId() > afterId), order, limit);
+		}
+
+		@Override
+		public List<LibraryBookDTO> findLibraryPageByTitle(Long userId, String afterTitle, long afterId,
+				ShelfStatus shelf, Genre genre, Limit limit) {
+			Comparator<UserBook> order = Comparator.comparing((UserBook ub) -> ub.getBook().getTitle())
+					.thenComparing(UserBook::getId);
+			return libraryPage(userId, shelf, genre,
+					ub -> ub.getBook().getTitle().compareTo(afterTitle) > 0
+							|| (ub.getBook().getTitle().equals(afterTitle) && ub.getId() > afterId),
+					order, limit);
+		}
+
+		private List<LibraryBookDTO> libraryPage(Long userId, ShelfStatus shelf, Genre genre,
+				Predicate<UserBook> after, Comparator<UserBook> order, Limit limit) {
+			return findByUserId(userId).stream()
+					.filter(ub -> shelf == null || ub.getShelf() == shelf)
+					.filter(ub -> genre == null || ub.getBook().getGenre() == genre)
+					.filter(after)
+					.sorted(order)
+					.limit(limit.max())
+					.map(ub -> new LibraryBookDTO(ub.getId(), ub.getShelf(), ub.getCreatedAt(), ub.getCompletedAt(),
+							ub.getBook().getId(), ub.getBook().getTitle(), ub.getBook().getAuthor(),
+							ub.getBook().getCoverUrl(), ub.getBook().getGenre()))
+					.toList();
+		}
+
+		@Override
+		public List<Object[]> countShelvesForUser(Long userId) {
+			shelfQueries++;
+			Map<ShelfStatus, Long> counts = new EnumMap<>(ShelfStatus.class);
+			for (UserBook ub : findByUserId(userId)) {
+				counts.merge(ub.getShelf(), 1L, Long::sum);
+			}
+			List<Object[]> rows = new ArrayList<>();
+			counts.forEach((shelf, count) -> rows.add(new Object[]{shelf, count}));
+			afterShelfQuery.run();
+			return rows;
+		}
+
+		@Override
+		public int updateBookTitle(Long bookId, String title) {
+			return 0;
+		}
+
+		@Override
+		public List<Object[]> countUserBooksPerBook() {
+			Map<Long, Long> counts = new HashMap<>();
+			for (UserBook ub : storage.values()) {
+				counts.merge(ub.getBook().getId(), 1L, Long::sum);
+			}
+			List<Object[]> rows = new ArrayList<>();
+			counts.forEach((bookId, count) -> rows.add(new Object[]{bookId, count}));
+			return rows;
+		}
     }
 }
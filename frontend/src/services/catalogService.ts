@@ -1,7 +1,23 @@
 import { apiClient } from "@/services/api";
-import type { BookCatalog, BookCatalogRequest } from "@/types/api";
+import type {
+  BookCatalog,
+  BookCatalogRequest,
+  BookSearchResult,
+  CatalogPageParams,
+  CursorPage,
+} from "@/types/api";
 
 export const catalogService = {
+  async getBooksPage(
+    params: CatalogPageParams = {},
+  ): Promise<CursorPage<BookCatalog>> {
+    const { data } = await apiClient.get<CursorPage<BookCatalog>>(
+      "/api/catalog/page",
+      { params },
+    );
+    return data;
+  },
+
   async getAllBooks(): Promise<BookCatalog[]> {
     const { data } = await apiClient.get<BookCatalog[]>("/api/catalog");
     return data;
@@ -17,6 +33,14 @@ export const catalogService = {
     return data;
   },
 
+  async addSearchResults(results: BookSearchResult[]): Promise<BookCatalog[]> {
+    const { data } = await apiClient.post<BookCatalog[]>(
+      "/api/catalog/batch",
+      results,
+    );
+    return data;
+  },
+
   async updateBook(
     bookId: number,
     request: BookCatalogRequest,
@@ -5,4 +5,5 @@ export { searchService } from "./searchService";
 export { catalogService } from "./catalogService";
 export { healthService } from "./healthService";
 export { reviewsService } from "./reviewsService";
+export { leaderboardService } from "./leaderboardService";
 export * from "./monthlyTrackerService";
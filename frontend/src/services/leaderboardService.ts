@@ -0,0 +1,26 @@
+import { apiClient } from "@/services/api";
+import type { LeaderboardEntry, LeaderboardWindow } from "@/types/api";
+
+export const leaderboardService = {
+  async getTopRated(
+    window: LeaderboardWindow = "month",
+    limit = 10,
+  ): Promise<LeaderboardEntry[]> {
+    const { data } = await apiClient.get<LeaderboardEntry[]>(
+      "/api/leaderboards/top-rated",
+      { params: { window, limit } },
+    );
+    return data;
+  },
+
+  async getMostReviewed(
+    window: LeaderboardWindow = "month",
+    limit = 10,
+  ): Promise<LeaderboardEntry[]> {
+    const { data } = await apiClient.get<LeaderboardEntry[]>(
+      "/api/leaderboards/most-reviewed",
+      { params: { window, limit } },
+    );
+    return data;
+  },
+};
@@ -1,5 +1,11 @@
 import { apiClient } from "@/services/api";
-import type { ReviewRequest, ReviewResponse } from "@/types/api";
+import type {
+  CursorPage,
+  RatingSummary,
+  ReviewPageParams,
+  ReviewRequest,
+  ReviewResponse,
+} from "@/types/api";
 
 export const reviewsService = {
   async createReview(request: ReviewRequest): Promise<ReviewResponse> {
@@ -17,6 +23,28 @@ export const reviewsService = {
     return data;
   },
 
+  async getReviewsPageByBook(
+    bookId: number,
+    params: ReviewPageParams = {},
+  ): Promise<CursorPage<ReviewResponse>> {
+    const { data } = await apiClient.get<CursorPage<ReviewResponse>>(
+      `/api/reviews/book/${bookId}/page`,
+      { params },
+    );
+    return data;
+  },
+
+  async getReviewsPageByUser(
+    userId: number,
+    params: ReviewPageParams = {},
+  ): Promise<CursorPage<ReviewResponse>> {
+    const { data } = await apiClient.get<CursorPage<ReviewResponse>>(
+      `/api/reviews/user/${userId}/page`,
+      { params },
+    );
+    return data;
+  },
+
   async getAverageRating(bookId: number): Promise<number> {
     const { data } = await apiClient.get<number>(
       `/api/reviews/book/${bookId}/average`,
@@ -24,6 +52,22 @@ export const reviewsService = {
     return data;
   },
 
+  async getRatingSummary(bookId: number): Promise<RatingSummary> {
+    const { data } = await apiClient.get<RatingSummary>(
+      `/api/reviews/book/${bookId}/summary`,
+    );
+    return data;
+  },
+
+  // One request for many books, e.g. a search results page
+  async getRatingSummaries(bookIds: number[]): Promise<RatingSummary[]> {
+    const { data } = await apiClient.get<RatingSummary[]>(
+      "/api/reviews/books/average",
+      { params: { ids: bookIds.join(",") } },
+    );
+    return data;
+  },
+
   async getReviewsByUser(userId: number): Promise<ReviewResponse[]> {
     const { data } = await apiClient.get<ReviewResponse[]>(
       `/api/reviews/user/${userId}`,
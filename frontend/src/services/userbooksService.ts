@@ -1,5 +1,9 @@
 import { apiClient } from "@/services/api";
 import type {
+  CursorPage,
+  LibraryBook,
+  LibraryPageParams,
+  LibrarySummary,
   UserBook,
   UserBookRequest,
   AddBookFromSearchRequest,
@@ -14,6 +18,25 @@ export const userbooksService = {
     return data;
   },
 
+  async getUserBooksPage(
+    userId: number,
+    params: LibraryPageParams = {},
+  ): Promise<CursorPage<LibraryBook>> {
+    const { data } = await apiClient.get<CursorPage<LibraryBook>>(
+      `/api/userbooks/user/${userId}/page`,
+      { params },
+    );
+    return data;
+  },
+
+  // Shelf counts without downloading the whole library
+  async getLibrarySummary(userId: number): Promise<LibrarySummary> {
+    const { data } = await apiClient.get<LibrarySummary>(
+      `/api/userbooks/user/${userId}/summary`,
+    );
+    return data;
+  },
+
   async getAllUserBooks(): Promise<UserBook[]> {
     const { data } = await apiClient.get<UserBook[]>("/api/userbooks");
     return data;
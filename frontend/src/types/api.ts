@@ -50,6 +50,32 @@ export interface UserBook {
   createdAt: string;
 }
 
+export interface LibraryBook {
+  id: number;
+  shelf: ShelfStatus;
+  createdAt: string;
+  completedAt?: string | null;
+  bookId: number;
+  title: string;
+  author: string;
+  coverUrl?: string;
+  genre: Genre;
+}
+
+export interface LibraryPageParams {
+  cursor?: string;
+  size?: number;
+  sort?: "recent" | "oldest" | "title";
+  shelf?: ShelfStatus;
+  genre?: Genre;
+}
+
+export interface LibrarySummary {
+  userId: number;
+  totalBooks: number;
+  shelfCounts: Record<ShelfStatus, number>;
+}
+
 export interface UserRequest {
   firstName: string;
   lastName: string;
@@ -97,6 +123,20 @@ export interface SearchResponse {
   books: BookSearchResult[];
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface CatalogPageParams {
+  cursor?: string;
+  size?: number;
+  sort?: "id" | "title";
+  genre?: Genre;
+  author?: string;
+}
+
 export interface ReviewRequest {
   userId: number;
   bookId: number;
@@ -113,6 +153,33 @@ export interface ReviewResponse {
   reviewText?: string;
 }
 
+export interface ReviewPageParams {
+  cursor?: string;
+  size?: number;
+  sort?: "newest" | "rating";
+}
+
+export interface RatingSummary {
+  bookId: number;
+  reviewCount: number;
+  averageRating: number;
+  // Number of reviews per star value, keyed 1 to 5
+  starCounts: Record<number, number>;
+}
+
+export type LeaderboardWindow = "month" | "all-time";
+
+export interface LeaderboardEntry {
+  bookId: number;
+  title: string;
+  author: string;
+  coverUrl?: string;
+  reviewCount: number;
+  averageRating: number;
+  // Bayesian average used for the top-rated ranking
+  score: number;
+}
+
 export interface MonthlyTrackerBook {
   id: number;
   monthlyTracker: {